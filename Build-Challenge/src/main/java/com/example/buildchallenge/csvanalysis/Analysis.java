@@ -0,0 +1,37 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The analyses SalesAnalyzer offers, each with the columns it reads, so that loading
+ * can parse only what the requested analyses need.
+ */
+public enum Analysis {
+    TOTAL(Column.QUANTITY, Column.UNIT_PRICE),
+    BY_REGION(Column.REGION, Column.QUANTITY, Column.UNIT_PRICE),
+    TOP_PRODUCTS(Column.PRODUCT, Column.QUANTITY, Column.UNIT_PRICE),
+    MONTHLY(Column.DATE, Column.QUANTITY, Column.UNIT_PRICE);
+
+    private final Set<Column> columns;
+
+    Analysis(Column first, Column... rest) {
+        this.columns = Collections.unmodifiableSet(EnumSet.of(first, rest));
+    }
+
+    public Set<Column> columns() {
+        return columns;
+    }
+
+    /**
+     * Union of the columns needed by all given analyses.
+     */
+    public static Set<Column> columnsFor(Analysis... analyses) {
+        Set<Column> needed = EnumSet.noneOf(Column.class);
+        for (Analysis a : analyses) {
+            needed.addAll(a.columns);
+        }
+        return needed;
+    }
+}
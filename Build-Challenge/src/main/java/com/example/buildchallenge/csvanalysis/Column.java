@@ -0,0 +1,36 @@
+package com.example.buildchallenge.csvanalysis;
+
+/**
+ * A sales CSV column, matched against the header row by name (case-insensitive).
+ */
+public enum Column {
+    DATE("date"),
+    REGION("region"),
+    SALESPERSON("salesperson"),
+    PRODUCT("product"),
+    QUANTITY("quantity"),
+    UNIT_PRICE("unitPrice");
+
+    private final String header;
+
+    Column(String header) {
+        this.header = header;
+    }
+
+    public String header() {
+        return header;
+    }
+
+    /**
+     * Returns the column with the given header name, or null if it is not a known column.
+     */
+    public static Column forHeader(String name) {
+        String trimmed = name.trim();
+        for (Column c : values()) {
+            if (c.header.equalsIgnoreCase(trimmed)) {
+                return c;
+            }
+        }
+        return null;
+    }
+}
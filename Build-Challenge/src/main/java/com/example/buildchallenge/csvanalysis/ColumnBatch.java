@@ -0,0 +1,43 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.Set;
+
+/**
+ * Up to a fixed number of rows stored column by column in primitive arrays. Dates are
+ * epoch days and text columns are StringDictionary codes. Columns that were not loaded
+ * are null.
+ */
+public class ColumnBatch {
+    public static final int DEFAULT_SIZE = 4096;
+
+    final int[] date;
+    final int[] region;
+    final int[] salesperson;
+    final int[] product;
+    final int[] quantity;
+    final double[] price;
+    private final int capacity;
+    int size;
+
+    ColumnBatch(int capacity, Set<Column> columns) {
+        this.capacity = capacity;
+        date = columns.contains(Column.DATE) ? new int[capacity] : null;
+        region = columns.contains(Column.REGION) ? new int[capacity] : null;
+        salesperson = columns.contains(Column.SALESPERSON) ? new int[capacity] : null;
+        product = columns.contains(Column.PRODUCT) ? new int[capacity] : null;
+        quantity = columns.contains(Column.QUANTITY) ? new int[capacity] : null;
+        price = columns.contains(Column.UNIT_PRICE) ? new double[capacity] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sales data held as a list of ColumnBatches, with the same analyses as SalesAnalyzer run as
+ * tight loops over primitive arrays instead of per-record stream lambdas. Text columns share
+ * one dictionary each across batches, so grouped sums index a plain double[] by code.
+ * Revenue totals use a jdk.incubator.vector kernel when one was compiled (-Pvector) and the
+ * module is present at run time, and a scalar loop otherwise.
+ */
+public class ColumnarSales {
+    private static final String VECTOR_KERNEL =
+            "com.example.buildchallenge.csvanalysis.VectorRevenueKernel";
+    private static final RevenueKernel KERNEL = loadKernel();
+    private static final int MAX_DAY_SPAN = 1 << 22;   // About 11,000 years
+
+    private final Set<Column> columns;
+    private final int batchSize;
+    private final List<ColumnBatch> batches = new ArrayList<>();
+    private final StringDictionary regions = new StringDictionary();
+    private final StringDictionary salespeople = new StringDictionary();
+    private final StringDictionary products = new StringDictionary();
+    private int rows;
+
+    /**
+     * Sums quantity[i] * price[i] over the first n rows.
+     */
+    interface RevenueKernel {
+        double sum(int[] quantity, double[] price, int n);
+    }
+
+    private ColumnarSales(Set<Column> columns, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.columns = columns.isEmpty() ? EnumSet.noneOf(Column.class) : EnumSet.copyOf(columns);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Loads the columns the given analyses need into 4096-row batches.
+     */
+    public static ColumnarSales load(InputStream in, Analysis... analyses) throws IOException {
+        return load(in, Analysis.columnsFor(analyses), ColumnBatch.DEFAULT_SIZE);
+    }
+
+    public static ColumnarSales load(InputStream in, Set<Column> columns, int batchSize) throws IOException {
+        ColumnarSales sales = new ColumnarSales(columns, batchSize);
+        new ProjectedCsvReader(sales.columns).scan(in, sales.new Appender());
+        return sales;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public List<ColumnBatch> batches() {
+        return batches;
+    }
+
+    /**
+     * True when revenue sums run on the jdk.incubator.vector kernel.
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarKernel);
+    }
+
+    public double total() {
+        requireColumns(Analysis.TOTAL);
+        double total = 0;
+        for (ColumnBatch b : batches) {
+            total += KERNEL.sum(b.quantity, b.price, b.size);
+        }
+        return total;
+    }
+
+    public Map<String, Double> byRegion() {
+        requireColumns(Analysis.BY_REGION);
+        return toMap(sumByCode(regions, Column.REGION), regions);
+    }
+
+    public List<Map.Entry<String, Double>> topNProductsByRevenue(int n) {
+        requireColumns(Analysis.TOP_PRODUCTS);
+        return toMap(sumByCode(products, Column.PRODUCT), products).entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    public Map<YearMonth, Double> monthlyTotals() {
+        requireColumns(Analysis.MONTHLY);
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (ColumnBatch b : batches) {
+            for (int i = 0; i < b.size; i++) {
+                minDay = Math.min(minDay, b.date[i]);
+                maxDay = Math.max(maxDay, b.date[i]);
+            }
+        }
+        Map<YearMonth, Double> result = new TreeMap<>();
+        if (rows == 0) {
+            return result;
+        }
+        if ((long) maxDay - minDay >= MAX_DAY_SPAN) {
+            throw new IllegalStateException("Date range too wide for monthly totals: "
+                    + LocalDate.ofEpochDay(minDay) + " to " + LocalDate.ofEpochDay(maxDay));
+        }
+        // Lookup table from day offset to month slot, so the row loop is two array reads
+        YearMonth first = YearMonth.from(LocalDate.ofEpochDay(minDay));
+        int[] monthOfDay = new int[maxDay - minDay + 1];
+        for (int d = 0; d < monthOfDay.length; d++) {
+            monthOfDay[d] = (int) first.until(LocalDate.ofEpochDay(minDay + d), ChronoUnit.MONTHS);
+        }
+        double[] sums = new double[monthOfDay[monthOfDay.length - 1] + 1];
+        boolean[] seen = new boolean[sums.length];
+        for (ColumnBatch b : batches) {
+            int[] date = b.date;
+            int[] quantity = b.quantity;
+            double[] price = b.price;
+            for (int i = 0; i < b.size; i++) {
+                int m = monthOfDay[date[i] - minDay];
+                sums[m] += quantity[i] * price[i];
+                seen[m] = true;
+            }
+        }
+        for (int m = 0; m < sums.length; m++) {
+            if (seen[m]) {
+                result.put(first.plusMonths(m), sums[m]);
+            }
+        }
+        return result;
+    }
+
+    private double[] sumByCode(StringDictionary dictionary, Column column) {
+        double[] sums = new double[dictionary.size()];
+        for (ColumnBatch b : batches) {
+            int[] codes = column == Column.REGION ? b.region : b.product;
+            int[] quantity = b.quantity;
+            double[] price = b.price;
+            for (int i = 0; i < b.size; i++) {
+                sums[codes[i]] += quantity[i] * price[i];
+            }
+        }
+        return sums;
+    }
+
+    private static Map<String, Double> toMap(double[] sums, StringDictionary dictionary) {
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < sums.length; code++) {
+            result.put(dictionary.value(code), sums[code]);
+        }
+        return result;
+    }
+
+    private void requireColumns(Analysis analysis) {
+        if (!columns.containsAll(analysis.columns())) {
+            throw new IllegalStateException(analysis + " needs columns " + analysis.columns()
+                    + " but only " + columns + " were loaded");
+        }
+    }
+
+    /**
+     * Appends scanned rows to the last batch, starting a new one when it fills up.
+     */
+    private final class Appender implements ProjectedCsvReader.RowVisitor {
+        private ColumnBatch batch;
+
+        @Override
+        public void field(Column column, byte[] b, int from, int to) {
+            if (batch == null || batch.isFull()) {
+                batch = new ColumnBatch(batchSize, columns);
+                batches.add(batch);
+            }
+            int row = batch.size;
+            switch (column) {
+                case DATE:
+                    batch.date[row] = (int) ProjectedCsvReader.parseDate(b, from, to).toEpochDay();
+                    break;
+                case REGION:
+                    batch.region[row] = regions.code(b, from, to);
+                    break;
+                case SALESPERSON:
+                    batch.salesperson[row] = salespeople.code(b, from, to);
+                    break;
+                case PRODUCT:
+                    batch.product[row] = products.code(b, from, to);
+                    break;
+                case QUANTITY:
+                    batch.quantity[row] = ProjectedCsvReader.parseInt(b, from, to);
+                    break;
+                case UNIT_PRICE:
+                    batch.price[row] = ProjectedCsvReader.parseDouble(b, from, to);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown column: " + column);
+            }
+        }
+
+        @Override
+        public void endRow() {
+            if (batch == null || batch.isFull()) {   // Row with no projected fields
+                batch = new ColumnBatch(batchSize, columns);
+                batches.add(batch);
+            }
+            batch.size++;
+            rows++;
+        }
+    }
+
+    private static final class ScalarKernel implements RevenueKernel {
+        @Override
+        public double sum(int[] quantity, double[] price, int n) {
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += quantity[i] * price[i];
+            }
+            return sum;
+        }
+    }
+
+    private static RevenueKernel loadKernel() {
+        try {
+            return (RevenueKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarKernel();   // Not compiled in, or jdk.incubator.vector not on the module path
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.buildchallenge.csvanalysis;
+
+/**
+ * Count-Min Sketch of weighted keys in fixed memory. An estimate never undercounts, and
+ * overcounts by at most epsilon * totalWeight with probability 1 - delta. Sketches with the
+ * same dimensions can be merged. Weights must not be negative. Not thread-safe.
+ */
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final double[][] counts;
+    private double totalWeight;
+
+    /**
+     * @param epsilon relative overcount bound, e.g. 0.001 for 0.1% of the total weight
+     * @param delta   probability that an estimate exceeds that bound, e.g. 0.01
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("epsilon and delta must be between 0 and 1");
+        }
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counts = new double[depth][width];
+    }
+
+    public void add(String key, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        }
+        long h = Hashing.hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < depth; i++) {
+            counts[i][index(h1, h2, i)] += weight;
+        }
+        totalWeight += weight;
+    }
+
+    public double estimate(String key) {
+        long h = Hashing.hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counts[i][index(h1, h2, i)]);
+        }
+        return min;
+    }
+
+    /**
+     * Adds another sketch's counts into this one; both must have the same width and depth.
+     */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+        for (int i = 0; i < depth; i++) {
+            for (int j = 0; j < width; j++) {
+                counts[i][j] += other.counts[i][j];
+            }
+        }
+        totalWeight += other.totalWeight;
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    // Row i uses h1 + i * h2 (Kirsch-Mitzenmacher), so one 64-bit hash serves every row
+    private int index(int h1, int h2, int i) {
+        return Math.floorMod(h1 + i * h2, width);
+    }
+}
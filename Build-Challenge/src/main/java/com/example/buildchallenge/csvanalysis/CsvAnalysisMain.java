@@ -1,9 +1,9 @@
 package com.example.buildchallenge.csvanalysis;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.time.YearMonth;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Main class for CSV sales analysis.
@@ -11,35 +11,60 @@ import java.util.Map;
 public class CsvAnalysisMain {
 
     public static void main(String[] args) throws Exception {
+        // Dimension joins are folded into the same pass as the base reports
+        SalesAggregation aggregation = new SalesAggregation();
+        DimensionTable products = loadDimension("products.csv", "product");
+        if (products != null) {
+            aggregation.join(Column.PRODUCT, products, "category");
+        }
+        DimensionTable regions = loadDimension("regions.csv", "region");
+        if (regions != null) {
+            aggregation.join(Column.REGION, regions, "manager");
+        }
 
-        // Load CSV from resources using context classloader (works in Maven exec)
-        InputStream is = Thread.currentThread()
-                .getContextClassLoader()
-                .getResourceAsStream("sample_sales.csv");
+        // An optional first argument names a partitioned dataset directory
+        Path dataset = args != null && args.length > 0 ? Path.of(args[0]) : null;
+        if (dataset != null && Files.isDirectory(dataset)) {
+            Analysis[] analyses = {Analysis.TOTAL, Analysis.BY_REGION, Analysis.MONTHLY, Analysis.TOP_PRODUCTS};
+            aggregation.addAll(SalesDataset.open(dataset).load(SalesFile.Filter.ALL, analyses));
+        } else {
+            if (dataset != null) {
+                System.err.println("WARNING: " + dataset + " is not a directory; using sample_sales.csv");
+            }
 
-        if (is == null) {
-            System.err.println("ERROR: sample_sales.csv not found in src/main/resources/");
-            return;
-        }
+            // Load CSV from resources using context classloader (works in Maven exec)
+            InputStream is = Thread.currentThread()
+                    .getContextClassLoader()
+                    .getResourceAsStream("sample_sales.csv");
 
-        // Load records
-        List<SalesRecord> records = SalesAnalyzer.load(is);
+            if (is == null) {
+                System.err.println("ERROR: sample_sales.csv not found in src/main/resources/");
+                return;
+            }
 
-        // Run analyses
-        double totalSales = SalesAnalyzer.total(records);
-        Map<String, Double> salesByRegion = SalesAnalyzer.byRegion(records);
-        Map<YearMonth, Double> monthly = SalesAnalyzer.monthlyTotals(records);
-        List<Map.Entry<String, Double>> topProducts =
-                SalesAnalyzer.topNProductsByRevenue(records, 3);
+            // One scan of the bytes, decoding only the columns the reports and joins read
+            aggregation.scan(is);
+        }
 
         // Print results
         System.out.println("===== CSV Analysis Results =====");
-        System.out.println("Total sales: " + totalSales);
-        System.out.println("Sales by region: " + salesByRegion);
-        System.out.println("Top 3 products: " + topProducts);
+        System.out.println("Total sales: " + aggregation.total());
+        System.out.println("Sales by region: " + aggregation.byRegion());
+        System.out.println("Top 3 products: " + aggregation.topNProductsByRevenue(3));
         System.out.println("Monthly totals:");
-        monthly.forEach((ym, amount) ->
+        aggregation.monthlyTotals().forEach((ym, amount) ->
                 System.out.printf("  %s -> %.2f%n", ym, amount)
         );
+        if (products != null) {
+            System.out.println("Sales by category: " + aggregation.byAttribute("category"));
+        }
+        if (regions != null) {
+            System.out.println("Sales by manager: " + aggregation.byAttribute("manager"));
+        }
+    }
+
+    private static DimensionTable loadDimension(String resource, String keyColumn) throws IOException {
+        InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+        return in == null ? null : DimensionTable.load(in, keyColumn);
     }
 }
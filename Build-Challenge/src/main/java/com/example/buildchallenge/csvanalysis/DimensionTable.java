@@ -0,0 +1,168 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A small lookup table loaded from CSV, such as product,category or region,manager, for
+ * joining attributes onto sales rows during an aggregation scan. Keys go in an open-addressing
+ * StringDictionary, so a key's code is its row and lookups work on raw UTF-8 bytes. Each
+ * attribute column is dictionary-encoded as an int per row, which lets a join sum into a
+ * double[] indexed by attribute code. Like the sales parser, quoted fields are not supported.
+ */
+public class DimensionTable {
+    private final String keyColumn;
+    private final List<String> attributes;
+    private final StringDictionary keys = new StringDictionary();
+    private final StringDictionary[] values;
+    private int[][] codes;   // codes[attribute][row]
+
+    private DimensionTable(String keyColumn, List<String> attributes) {
+        this.keyColumn = keyColumn;
+        this.attributes = Collections.unmodifiableList(attributes);
+        this.values = new StringDictionary[attributes.size()];
+        this.codes = new int[attributes.size()][16];
+        for (int a = 0; a < values.length; a++) {
+            values[a] = new StringDictionary();
+        }
+    }
+
+    /**
+     * Loads a table whose header names the key column and any number of attribute columns.
+     * Blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if the key column is missing, a key repeats or a line
+     *                                  has the wrong number of fields
+     */
+    public static DimensionTable load(InputStream in, String keyColumn) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header;
+            do {
+                header = reader.readLine();
+            } while (header != null && header.isBlank());
+            if (header == null) {
+                throw new IllegalArgumentException("Dimension table has no header");
+            }
+            String[] names = header.split(",", -1);
+            int keyIndex = -1;
+            List<String> attributes = new ArrayList<>();
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i].trim();
+                if (keyIndex < 0 && name.equalsIgnoreCase(keyColumn)) {
+                    keyIndex = i;
+                } else {
+                    attributes.add(name);
+                }
+            }
+            if (keyIndex < 0) {
+                throw new IllegalArgumentException("Missing key column '" + keyColumn + "' in header: " + header);
+            }
+            DimensionTable table = new DimensionTable(keyColumn, attributes);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != names.length) {
+                    throw new IllegalArgumentException("Expected " + names.length + " fields: " + line);
+                }
+                table.addRow(fields, keyIndex);
+            }
+            return table;
+        }
+    }
+
+    private void addRow(String[] fields, int keyIndex) {
+        String key = fields[keyIndex].trim();
+        int row = keys.size();
+        if (keys.code(key) != row) {
+            throw new IllegalArgumentException("Duplicate key '" + key + "' in dimension table");
+        }
+        if (values.length > 0 && row == codes[0].length) {
+            for (int a = 0; a < values.length; a++) {
+                codes[a] = Arrays.copyOf(codes[a], row * 2);
+            }
+        }
+        for (int i = 0, a = 0; i < fields.length; i++) {
+            if (i != keyIndex) {
+                codes[a][row] = values[a].code(fields[i].trim());
+                a++;
+            }
+        }
+    }
+
+    public String keyColumn() {
+        return keyColumn;
+    }
+
+    public List<String> attributes() {
+        return attributes;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Returns the attribute value for the key, or null if the key is not in the table.
+     */
+    public String get(String key, String attribute) {
+        int row = keys.find(key);
+        if (row < 0) {
+            return null;
+        }
+        int a = attributeIndex(attribute);
+        return values[a].value(codes[a][row]);
+    }
+
+    /**
+     * Position of the attribute in {@link #attributes()}.
+     *
+     * @throws IllegalArgumentException if the table has no such attribute
+     */
+    public int attributeIndex(String attribute) {
+        for (int a = 0; a < attributes.size(); a++) {
+            if (attributes.get(a).equalsIgnoreCase(attribute)) {
+                return a;
+            }
+        }
+        throw new IllegalArgumentException("Unknown attribute '" + attribute + "', expected one of " + attributes);
+    }
+
+    /**
+     * Row of the key held as UTF-8 bytes in [from, to), or -1 if absent.
+     */
+    int row(byte[] b, int from, int to) {
+        return keys.find(b, from, to);
+    }
+
+    int row(String key) {
+        return keys.find(key);
+    }
+
+    /**
+     * Dictionary code of the attribute value in the given row.
+     */
+    int valueCode(int attribute, int row) {
+        return codes[attribute][row];
+    }
+
+    /**
+     * Number of distinct values of the attribute; codes run from 0 to this minus one.
+     */
+    int valueCount(int attribute) {
+        return values[attribute].size();
+    }
+
+    String value(int attribute, int code) {
+        return values[attribute].value(code);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.buildchallenge.csvanalysis;
+
+/**
+ * Order count, revenue total and order-value quantiles for one group of sales, in bounded
+ * memory. Order value is quantity * price. Summaries built with the same k can be merged.
+ */
+public class GroupSummary {
+    private final KllSketch orderValues;
+    private double total;
+
+    public GroupSummary() {
+        this(KllSketch.DEFAULT_K);
+    }
+
+    public GroupSummary(int k) {
+        this.orderValues = new KllSketch(k);
+    }
+
+    public void add(SalesRecord r) {
+        double value = r.total();
+        total += value;
+        orderValues.add(value);
+    }
+
+    public GroupSummary merge(GroupSummary other) {
+        total += other.total;
+        orderValues.merge(other.orderValues);
+        return this;
+    }
+
+    public long count() {
+        return orderValues.count();
+    }
+
+    public double total() {
+        return total;
+    }
+
+    public double median() {
+        return orderValues.quantile(0.5);
+    }
+
+    public double quantile(double q) {
+        return orderValues.quantile(q);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d total=%.2f p50=%.2f p90=%.2f p99=%.2f",
+                count(), total, quantile(0.5), quantile(0.9), quantile(0.99));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.buildchallenge.csvanalysis;
+
+/**
+ * 64-bit hashing for sketches: FNV-1a over the string's chars, then the MurmurHash3
+ * finalizer so every output bit depends on every input bit.
+ */
+final class Hashing {
+    private Hashing() {
+    }
+
+    static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
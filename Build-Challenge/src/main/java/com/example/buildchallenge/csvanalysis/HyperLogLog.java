@@ -0,0 +1,87 @@
+package com.example.buildchallenge.csvanalysis;
+
+/**
+ * HyperLogLog distinct-count estimator using 2^precision one-byte registers. The standard
+ * error is about 1.04 / sqrt(2^precision), e.g. 1.6% at precision 12 (4 KiB). Small
+ * cardinalities use linear counting. Sketches with the same precision can be merged.
+ * Not thread-safe.
+ */
+public class HyperLogLog {
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * @param precision number of index bits, from 4 to 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Creates the smallest sketch whose standard error is at most relativeError.
+     */
+    public static HyperLogLog forError(double relativeError) {
+        if (!(relativeError > 0 && relativeError < 1)) {
+            throw new IllegalArgumentException("relativeError must be between 0 and 1");
+        }
+        int p = (int) Math.ceil(Math.log(Math.pow(1.04 / relativeError, 2)) / Math.log(2));
+        return new HyperLogLog(Math.max(4, Math.min(18, p)));
+    }
+
+    public void add(String value) {
+        addHash(Hashing.hash64(value));
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Leading zeros of the remaining bits, plus one; the guard bit caps it at 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);   // Linear counting
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Folds another sketch of the same precision into this one (register-wise max).
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public double relativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+}
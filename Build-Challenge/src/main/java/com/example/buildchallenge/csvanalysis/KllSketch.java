@@ -0,0 +1,199 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.Arrays;
+
+/**
+ * KLL quantile sketch: a stack of compactors where level h holds items of weight 2^h.
+ * When a level fills up it is sorted and every other item (random offset) is promoted to
+ * the next level, so memory stays around 3k items for any stream length. Rank error is
+ * roughly 1.7 / k at the default confidence (k = 200 gives about 1%). Sketches with the
+ * same k can be merged. Not thread-safe.
+ */
+public class KllSketch {
+    public static final int DEFAULT_K = 200;
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = {new double[8]};
+    private int[] sizes = new int[1];
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long coin = 0x9E3779B97F4A7C15L;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8");
+        }
+        this.k = k;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("value must not be NaN");
+        }
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+        append(0, value);
+        compress();
+    }
+
+    /**
+     * Returns an estimate of the value at quantile q (0 = min, 0.5 = median, 1 = max),
+     * or NaN for an empty sketch.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int i = 0;
+        for (int h = 0; h < levels.length; h++) {
+            double[] level = levels[h];
+            Arrays.sort(level, 0, sizes[h]);
+            for (int j = 0; j < sizes[h]; j++) {
+                values[i] = level[j];
+                weights[i++] = 1L << h;
+            }
+        }
+        Integer[] order = new Integer[retained];
+        for (int j = 0; j < retained; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double target = q * count;
+        long cumulative = 0;
+        for (int j : order) {
+            cumulative += weights[j];
+            if (cumulative >= target) {
+                return values[j];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Folds another sketch with the same k into this one.
+     */
+    public void merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with different k");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int j = 0; j < other.sizes[h]; j++) {
+                append(h, other.levels[h][j]);
+            }
+        }
+        compress();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Number of values currently held, which stays bounded as count grows.
+     */
+    public int retained() {
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        return retained;
+    }
+
+    private void append(int h, double value) {
+        if (h >= levels.length) {
+            int old = levels.length;
+            levels = Arrays.copyOf(levels, h + 1);
+            sizes = Arrays.copyOf(sizes, h + 1);
+            for (int i = old; i <= h; i++) {
+                levels[i] = new double[8];
+            }
+        }
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], sizes[h] * 2);
+        }
+        levels[h][sizes[h]++] = value;
+    }
+
+    // Lower levels get geometrically smaller capacities; the top level gets k
+    private int capacity(int h) {
+        return Math.max(2, (int) Math.ceil(k * Math.pow(DECAY, levels.length - 1 - h)));
+    }
+
+    private void compress() {
+        boolean compacted = true;
+        while (compacted) {
+            compacted = false;
+            for (int h = 0; h < levels.length; h++) {
+                if (sizes[h] >= capacity(h)) {
+                    compact(h);
+                    compacted = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact(int h) {
+        double[] level = levels[h];
+        int size = sizes[h];
+        double kept = Double.NaN;
+        if ((size & 1) == 1) {
+            kept = level[--size];   // Odd item out stays at this level
+        }
+        Arrays.sort(level, 0, size);
+        for (int j = nextBit(); j < size; j += 2) {
+            append(h + 1, level[j]);
+        }
+        sizes[h] = 0;
+        if (!Double.isNaN(kept)) {
+            level[sizes[h]++] = kept;
+        }
+    }
+
+    private int nextBit() {
+        coin ^= coin << 13;
+        coin ^= coin >>> 7;
+        coin ^= coin << 17;
+        return (int) (coin & 1);
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads sales CSV straight from bytes, decoding only the projected columns.
+ * Columns are located by header name, so their order may vary and unknown columns are
+ * allowed. Fields outside the projection are skipped by scanning for the next comma,
+ * and scanning stops after the last projected field of each line. Records leave
+ * unprojected columns null (or 0). A leading UTF-8 byte order mark, as in Excel exports, is
+ * ignored. Like the original parser, quoted fields are not supported.
+ * A reader may be given implied values, such as a region taken from a partition directory,
+ * which stand in for projected columns the header lacks.
+ */
+public class ProjectedCsvReader {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private final Set<Column> projection;
+    private final Map<Column, String> implied;
+    private Column[] impliedColumns;     // Projected columns the header lacks, filled from implied
+    private byte[][] impliedValues;
+    private Column[] slots;       // Column at each field position, null if skipped
+    private int lastNeeded;       // Index of the last field that must be decoded
+    private long decodedFields;
+
+    /**
+     * Receives the projected fields of each data row as trimmed byte ranges of the read buffer.
+     */
+    interface RowVisitor {
+        void field(Column column, byte[] b, int from, int to);
+
+        void endRow();
+    }
+
+    public ProjectedCsvReader(Set<Column> projection) {
+        this(projection, Map.of());
+    }
+
+    /**
+     * Like {@link #ProjectedCsvReader(Set)}, but a projected column missing from the header
+     * takes its value in every row from implied instead of failing the read.
+     */
+    ProjectedCsvReader(Set<Column> projection, Map<Column, String> implied) {
+        this.projection = projection.isEmpty() ? EnumSet.noneOf(Column.class) : EnumSet.copyOf(projection);
+        this.implied = implied;
+    }
+
+    /**
+     * Parses every record in the stream. The first non-blank line is the header; blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if the header lacks a projected column or a line has too few fields
+     */
+    public List<SalesRecord> read(InputStream in) throws IOException {
+        RecordBuilder builder = new RecordBuilder();
+        scan(in, builder);
+        return builder.records;
+    }
+
+    /**
+     * Feeds every data row of the stream to the visitor, with the same rules as {@link #read}.
+     */
+    void scan(InputStream in, RowVisitor visitor) throws IOException {
+        slots = null;
+        byte[] buf = new byte[1 << 16];
+        int len = 0;
+        int scanned = 0;
+        try (in) {
+            int n;
+            while ((n = in.read(buf, len, buf.length - len)) > 0) {
+                len += n;
+                int start = 0;
+                for (int i = scanned; i < len; i++) {
+                    if (buf[i] == '\n') {
+                        line(buf, start, i, visitor);
+                        start = i + 1;
+                    }
+                }
+                len -= start;
+                System.arraycopy(buf, start, buf, 0, len);
+                scanned = len;
+                if (len == buf.length) {
+                    buf = Arrays.copyOf(buf, buf.length * 2);   // Line longer than the buffer
+                }
+            }
+        }
+        if (len > 0) {
+            line(buf, 0, len, visitor);
+        }
+    }
+
+    /**
+     * Number of fields decoded so far across all reads; skipped fields are not counted.
+     */
+    public long decodedFields() {
+        return decodedFields;
+    }
+
+    private void line(byte[] b, int from, int to, RowVisitor visitor) {
+        if (to > from && b[to - 1] == '\r') {
+            to--;
+        }
+        if (isBlank(b, from, to)) {
+            return;
+        }
+        if (slots == null) {
+            header(new String(b, from, to - from, StandardCharsets.UTF_8));
+            return;
+        }
+        int pos = from;
+        for (int field = 0; field <= lastNeeded; field++) {
+            if (pos > to) {
+                throw new IllegalArgumentException("Expected at least " + (lastNeeded + 1)
+                        + " fields: " + new String(b, from, to - from, StandardCharsets.UTF_8));
+            }
+            int end = pos;
+            while (end < to && b[end] != ',') {
+                end++;
+            }
+            if (slots[field] != null) {
+                int s = pos;
+                int e = end;
+                while (s < e && (b[s] & 0xFF) <= ' ') {
+                    s++;
+                }
+                while (e > s && (b[e - 1] & 0xFF) <= ' ') {
+                    e--;
+                }
+                visitor.field(slots[field], b, s, e);
+                decodedFields++;
+            }
+            pos = end + 1;
+        }
+        for (int i = 0; i < impliedColumns.length; i++) {
+            visitor.field(impliedColumns[i], impliedValues[i], 0, impliedValues[i].length);
+        }
+        visitor.endRow();
+    }
+
+    private void header(String header) {
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);   // Byte order mark, not part of the first column name
+        }
+        String[] names = header.split(",", -1);
+        slots = new Column[names.length];
+        Set<Column> found = EnumSet.noneOf(Column.class);
+        lastNeeded = -1;
+        for (int i = 0; i < names.length; i++) {
+            Column c = Column.forHeader(names[i]);
+            if (c != null && projection.contains(c) && found.add(c)) {
+                slots[i] = c;
+                lastNeeded = i;
+            }
+        }
+        List<Column> missing = new ArrayList<>();
+        for (Column c : projection) {
+            if (found.contains(c)) {
+                continue;
+            }
+            if (!implied.containsKey(c)) {
+                throw new IllegalArgumentException("Missing column '" + c.header() + "' in header: " + header);
+            }
+            missing.add(c);
+        }
+        impliedColumns = missing.toArray(new Column[0]);
+        impliedValues = new byte[impliedColumns.length][];
+        for (int i = 0; i < impliedColumns.length; i++) {
+            impliedValues[i] = implied.get(impliedColumns[i]).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static boolean isBlank(byte[] b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((b[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String text(byte[] b, int from, int to) {
+        return new String(b, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses valid yyyy-MM-dd dates without going through a formatter. Anything else, including
+     * out-of-range days such as 2024-02-30, goes to the same formatter as SalesRecord.fromCsv,
+     * so both loaders accept and resolve exactly the same dates.
+     */
+    static LocalDate parseDate(byte[] b, int from, int to) {
+        if (to - from == 10 && b[from + 4] == '-' && b[from + 7] == '-') {
+            int y = digits(b, from, from + 4);
+            int m = digits(b, from + 5, from + 7);
+            int d = digits(b, from + 8, from + 10);
+            if (y >= 1 && m >= 1 && m <= 12 && d >= 1 && (d <= 28 || d <= YearMonth.of(y, m).lengthOfMonth())) {
+                return LocalDate.of(y, m, d);
+            }
+        }
+        return LocalDate.parse(text(b, from, to), SalesRecord.DATE_FORMAT);
+    }
+
+    static int parseInt(byte[] b, int from, int to) {
+        boolean negative = to > from && b[from] == '-';
+        int start = negative || (to > from && b[from] == '+') ? from + 1 : from;
+        if (to - start > 0 && to - start <= 9) {
+            int v = digits(b, start, to);
+            if (v >= 0) {
+                return negative ? -v : v;
+            }
+        }
+        return Integer.parseInt(text(b, from, to));   // Overflow or malformed: exact JDK behaviour
+    }
+
+    /**
+     * Parses plain decimals such as 9.99 as an exact long mantissa divided by a power of ten,
+     * which rounds the same way as Double.parseDouble. Exponents, long mantissas and anything
+     * unusual fall back to Double.parseDouble.
+     */
+    static double parseDouble(byte[] b, int from, int to) {
+        boolean negative = to > from && b[from] == '-';
+        int i = negative || (to > from && b[from] == '+') ? from + 1 : from;
+        long mantissa = 0;
+        int digitCount = 0;
+        int scale = -1;
+        for (; i < to; i++) {
+            int c = b[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+                if (++digitCount > 15) {
+                    break;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+        }
+        if (i < to || digitCount == 0) {
+            return Double.parseDouble(text(b, from, to));
+        }
+        double v = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -v : v;
+    }
+
+    /**
+     * Parses an unsigned run of ASCII digits, or returns -1 if any byte is not a digit.
+     */
+    private static int digits(byte[] b, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    /**
+     * Decodes fields into SalesRecords, leaving unprojected columns null (or 0).
+     */
+    private static final class RecordBuilder implements RowVisitor {
+        final List<SalesRecord> records = new ArrayList<>();
+        private LocalDate date;
+        private String region, salesperson, product;
+        private int quantity;
+        private double price;
+
+        @Override
+        public void field(Column column, byte[] b, int from, int to) {
+            switch (column) {
+                case DATE:
+                    date = parseDate(b, from, to);
+                    break;
+                case REGION:
+                    region = text(b, from, to);
+                    break;
+                case SALESPERSON:
+                    salesperson = text(b, from, to);
+                    break;
+                case PRODUCT:
+                    product = text(b, from, to);
+                    break;
+                case QUANTITY:
+                    quantity = parseInt(b, from, to);
+                    break;
+                case UNIT_PRICE:
+                    price = parseDouble(b, from, to);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown column: " + column);
+            }
+        }
+
+        @Override
+        public void endRow() {
+            records.add(new SalesRecord(date, region, salesperson, product, quantity, price));
+            date = null;
+            region = salesperson = product = null;
+            quantity = 0;
+            price = 0;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The base reports (total, by region, by month, top products) and any number of dimension
+ * table joins accumulated together, so a single pass over the rows yields all of them.
+ * Over CSV bytes, regions and products are dictionary-coded and join keys are looked up
+ * without decoding, so no record or key string is built per row. Rows whose join key is
+ * not in its table are left out of that join only, as in an inner join. Not thread-safe.
+ */
+public class SalesAggregation {
+    private final List<Join> joins = new ArrayList<>();
+    private final StringDictionary regions = new StringDictionary();
+    private final StringDictionary products = new StringDictionary();
+    private final Map<YearMonth, Double> byMonth = new TreeMap<>();
+    private double[] byRegion = new double[16];
+    private double[] byProduct = new double[16];
+    private double total;
+    private boolean started;
+
+    /**
+     * Also sums revenue per value of the table's attribute, joining on the given sales column.
+     * Must be called before any rows are added.
+     *
+     * @throws IllegalArgumentException if the column cannot be joined on or the table lacks the attribute
+     * @throws IllegalStateException    if rows have already been added
+     */
+    public SalesAggregation join(Column joinColumn, DimensionTable table, String attribute) {
+        if (joinColumn != Column.REGION && joinColumn != Column.SALESPERSON && joinColumn != Column.PRODUCT) {
+            throw new IllegalArgumentException("Cannot join on column " + joinColumn);
+        }
+        if (started) {
+            throw new IllegalStateException("Joins must be added before any rows");
+        }
+        joins.add(new Join(joinColumn, table, table.attributeIndex(attribute), attribute));
+        return this;
+    }
+
+    /**
+     * Columns a scan reads: the base reports' columns plus every join column.
+     */
+    public Set<Column> columns() {
+        Set<Column> columns = Analysis.columnsFor(Analysis.values());
+        for (Join j : joins) {
+            columns.add(j.column);
+        }
+        return columns;
+    }
+
+    public void add(SalesRecord r) {
+        for (Join j : joins) {
+            String key = j.column == Column.REGION ? r.getRegion()
+                    : j.column == Column.PRODUCT ? r.getProduct() : r.getSalesperson();
+            j.lookup(j.table.row(key));
+        }
+        accumulate(regions.code(r.getRegion()), products.code(r.getProduct()), r.getDate(), r.total());
+    }
+
+    public SalesAggregation addAll(Iterable<SalesRecord> records) {
+        for (SalesRecord r : records) {
+            add(r);
+        }
+        return this;
+    }
+
+    /**
+     * Adds every row of a sales CSV in one pass over its bytes.
+     */
+    public SalesAggregation scan(InputStream in) throws IOException {
+        new ProjectedCsvReader(columns()).scan(in, new ProjectedCsvReader.RowVisitor() {
+            private int region;
+            private int product;
+            private LocalDate date;
+            private int quantity;
+            private double price;
+
+            @Override
+            public void field(Column column, byte[] b, int from, int to) {
+                switch (column) {
+                    case DATE:
+                        date = ProjectedCsvReader.parseDate(b, from, to);
+                        break;
+                    case REGION:
+                        region = regions.code(b, from, to);
+                        break;
+                    case PRODUCT:
+                        product = products.code(b, from, to);
+                        break;
+                    case QUANTITY:
+                        quantity = ProjectedCsvReader.parseInt(b, from, to);
+                        break;
+                    case UNIT_PRICE:
+                        price = ProjectedCsvReader.parseDouble(b, from, to);
+                        break;
+                    default:
+                        break;
+                }
+                for (Join j : joins) {
+                    if (j.column == column) {
+                        j.lookup(j.table.row(b, from, to));
+                    }
+                }
+            }
+
+            @Override
+            public void endRow() {
+                accumulate(region, product, date, quantity * price);
+            }
+        });
+        return this;
+    }
+
+    private void accumulate(int region, int product, LocalDate date, double revenue) {
+        started = true;
+        total += revenue;
+        if (region == byRegion.length) {
+            byRegion = Arrays.copyOf(byRegion, region * 2);
+        }
+        byRegion[region] += revenue;
+        if (product == byProduct.length) {
+            byProduct = Arrays.copyOf(byProduct, product * 2);
+        }
+        byProduct[product] += revenue;
+        byMonth.merge(YearMonth.from(date), revenue, Double::sum);
+        for (Join j : joins) {
+            j.add(revenue);
+        }
+    }
+
+    public double total() {
+        return total;
+    }
+
+    public Map<String, Double> byRegion() {
+        return toMap(regions, byRegion);
+    }
+
+    /**
+     * Monthly totals in chronological order.
+     */
+    public Map<YearMonth, Double> monthlyTotals() {
+        return new TreeMap<>(byMonth);
+    }
+
+    public List<Map.Entry<String, Double>> topNProductsByRevenue(int n) {
+        return toMap(products, byProduct).entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Revenue per value of a joined attribute, from the first join added for it.
+     *
+     * @throws IllegalArgumentException if no join was added for the attribute
+     */
+    public Map<String, Double> byAttribute(String attribute) {
+        for (Join j : joins) {
+            if (j.attributeName.equalsIgnoreCase(attribute)) {
+                Map<String, Double> result = new HashMap<>();
+                for (int code = 0; code < j.sums.length; code++) {
+                    if (j.seen[code]) {
+                        result.put(j.table.value(j.attribute, code), j.sums[code]);
+                    }
+                }
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("No join for attribute '" + attribute + "'");
+    }
+
+    private static Map<String, Double> toMap(StringDictionary dictionary, double[] sums) {
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < dictionary.size(); code++) {
+            result.put(dictionary.value(code), sums[code]);
+        }
+        return result;
+    }
+
+    /**
+     * One joined attribute: its sums are indexed by the attribute's dictionary code.
+     */
+    private static final class Join {
+        final Column column;
+        final DimensionTable table;
+        final int attribute;
+        final String attributeName;
+        final double[] sums;
+        final boolean[] seen;
+        int code = -1;   // Attribute code of the current row, or -1 if its key is not in the table
+
+        Join(Column column, DimensionTable table, int attribute, String attributeName) {
+            this.column = column;
+            this.table = table;
+            this.attribute = attribute;
+            this.attributeName = attributeName;
+            this.sums = new double[table.valueCount(attribute)];
+            this.seen = new boolean[sums.length];
+        }
+
+        void lookup(int row) {
+            code = row < 0 ? -1 : table.valueCode(attribute, row);
+        }
+
+        void add(double revenue) {
+            if (code >= 0) {
+                sums[code] += revenue;
+                seen[code] = true;
+            }
+        }
+    }
+}
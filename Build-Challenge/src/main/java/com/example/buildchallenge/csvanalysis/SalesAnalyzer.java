@@ -1,13 +1,16 @@
 package com.example.buildchallenge.csvanalysis;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -19,16 +22,34 @@ public class SalesAnalyzer {
         
     /**
      * Loads sales records from CSV, skipping header and blank lines.
+     * Columns are matched by header name, so their order does not matter.
      */
 
     public static List<SalesRecord> load(InputStream is) throws IOException {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-            return br.lines()
-                     .filter(l -> !l.isBlank())
-                     .skip(1) // skip header
-                     .map(SalesRecord::fromCsv)
-                     .collect(Collectors.toList());
-        }
+        return new ProjectedCsvReader(EnumSet.allOf(Column.class)).read(is);
+    }
+
+    /**
+     * Loads only the columns the given analyses read; the rest are skipped without decoding
+     * and left null (or 0) in the returned records.
+     */
+    public static List<SalesRecord> load(InputStream is, Analysis... analyses) throws IOException {
+        return new ProjectedCsvReader(Analysis.columnsFor(analyses)).read(is);
+    }
+
+    /**
+     * Loads the records of a SalesFile that match the filter, skipping blocks whose zone maps
+     * rule them out; the result feeds the analyses below like a CSV load.
+     */
+    public static List<SalesRecord> load(Path salesFile, SalesFile.Filter filter) throws IOException {
+        return SalesFile.open(salesFile).read(filter);
+    }
+
+    /**
+     * Writes records as a SalesFile, which is much smaller and faster to load than CSV.
+     */
+    public static void export(List<SalesRecord> records, Path salesFile) throws IOException {
+        SalesFile.write(records, salesFile);
     }
 
     
@@ -80,4 +101,133 @@ public class SalesAnalyzer {
                         Collectors.summingDouble(SalesRecord::total)
                 ));
     }
+
+    /**
+     * Approximate top N products by revenue using a fixed number of counters instead of a
+     * map of every product. Revenues are overestimated by at most total() / counters.
+     */
+    public static List<Map.Entry<String, Double>> approxTopNProductsByRevenue(Iterable<SalesRecord> records,
+                                                                              int n, int counters) {
+        SpaceSaving summary = new SpaceSaving(counters);
+        for (SalesRecord r : records) {
+            summary.add(r.getProduct(), r.total());
+        }
+        return summary.top(n);
+    }
+
+    /**
+     * Approximate number of distinct salespeople per region, within the HyperLogLog error
+     * for the given precision.
+     */
+    public static Map<String, Long> approxDistinctSalespeopleByRegion(Iterable<SalesRecord> records,
+                                                                      int precision) {
+        Map<String, HyperLogLog> sketches = new HashMap<>();
+        for (SalesRecord r : records) {
+            sketches.computeIfAbsent(r.getRegion(), k -> new HyperLogLog(precision)).add(r.getSalesperson());
+        }
+        Map<String, Long> result = new HashMap<>();
+        sketches.forEach((region, hll) -> result.put(region, hll.estimate()));
+        return result;
+    }
+
+    /**
+     * Totals plus median/p90/p99 order value overall, by region and by month, in one pass
+     * with bounded memory per group.
+     */
+    public static SalesSummary summarize(Iterable<SalesRecord> records) {
+        return SalesSummary.of(records);
+    }
+
+    /**
+     * Sums revenue per key within a heap budget, spilling sorted partial sums to tempDir (or
+     * the system temp directory) when needed. Totals are emitted in ascending key order.
+     */
+    public static void groupRevenue(Iterable<SalesRecord> records, Function<SalesRecord, String> key,
+                                    long memoryBudgetBytes, Path tempDir,
+                                    BiConsumer<String, Double> out) throws IOException {
+        try (SpillingGroupBy groupBy = new SpillingGroupBy(memoryBudgetBytes, tempDir)) {
+            for (SalesRecord r : records) {
+                groupBy.add(key.apply(r), r.total());
+            }
+            groupBy.finish(out);
+        }
+    }
+
+    /**
+     * Revenue per salesperson, product and day, keyed "salesperson|product|yyyy-MM-dd".
+     */
+    public static void revenueBySalespersonProductDay(Iterable<SalesRecord> records, long memoryBudgetBytes,
+                                                      Path tempDir, BiConsumer<String, Double> out)
+            throws IOException {
+        groupRevenue(records, r -> r.getSalesperson() + '|' + r.getProduct() + '|' + r.getDate(),
+                memoryBudgetBytes, tempDir, out);
+    }
+
+    /**
+     * Revenue grouped by an attribute of a dimension table (for example product category),
+     * joined on the given sales column during a single scan of the CSV. Keys are looked up
+     * from the raw bytes, so no joined rows or key strings are built. Rows whose key is not
+     * in the table are left out, as in an inner join. {@link SalesAggregation} computes several
+     * joins and the base reports in the same scan.
+     */
+    public static Map<String, Double> revenueByAttribute(InputStream is, Column joinColumn,
+                                                         DimensionTable table, String attribute)
+            throws IOException {
+        if (joinColumn != Column.REGION && joinColumn != Column.SALESPERSON && joinColumn != Column.PRODUCT) {
+            throw new IllegalArgumentException("Cannot join on column " + joinColumn);
+        }
+        int a = table.attributeIndex(attribute);
+        double[] sums = new double[table.valueCount(a)];
+        boolean[] seen = new boolean[sums.length];
+        new ProjectedCsvReader(EnumSet.of(joinColumn, Column.QUANTITY, Column.UNIT_PRICE)).scan(is,
+                new ProjectedCsvReader.RowVisitor() {
+                    private int code;
+                    private int quantity;
+                    private double price;
+
+                    @Override
+                    public void field(Column column, byte[] b, int from, int to) {
+                        if (column == joinColumn) {
+                            int row = table.row(b, from, to);
+                            code = row < 0 ? -1 : table.valueCode(a, row);
+                        } else if (column == Column.QUANTITY) {
+                            quantity = ProjectedCsvReader.parseInt(b, from, to);
+                        } else {
+                            price = ProjectedCsvReader.parseDouble(b, from, to);
+                        }
+                    }
+
+                    @Override
+                    public void endRow() {
+                        if (code >= 0) {
+                            sums[code] += quantity * price;
+                            seen[code] = true;
+                        }
+                    }
+                });
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < sums.length; code++) {
+            if (seen[code]) {
+                result.put(table.value(a, code), sums[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same join over records already in memory, with the key taken from each record.
+     */
+    public static Map<String, Double> revenueByAttribute(Iterable<SalesRecord> records,
+                                                         Function<SalesRecord, String> key,
+                                                         DimensionTable table, String attribute) {
+        int a = table.attributeIndex(attribute);
+        Map<String, Double> result = new HashMap<>();
+        for (SalesRecord r : records) {
+            int row = table.row(key.apply(r));
+            if (row >= 0) {
+                result.merge(table.value(a, table.valueCode(a, row)), r.total(), Double::sum);
+            }
+        }
+        return result;
+    }
 }
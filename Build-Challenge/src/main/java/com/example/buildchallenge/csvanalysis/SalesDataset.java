@@ -0,0 +1,273 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sales CSV files under a directory tree, partitioned by key=value directory names such as
+ * region=North/month=2024-03/2024-03-15.csv. Recognised keys are region, year, month
+ * (yyyy-MM) and date or day (yyyy-MM-dd); a file name that is a yyyy-MM-dd date narrows the
+ * range further. Loads prune whole files whose partition region or dates the filter excludes,
+ * parse the remaining files concurrently and return their matching rows in path order.
+ * Unknown keys and unparseable values are kept but never prune.
+ * A file may leave out the region column under a region key, and the date column when its
+ * path pins a single day; rows then take those values from the path. Rows that do carry them
+ * must agree with the path, or the load fails.
+ */
+public class SalesDataset {
+    private final Path root;
+    private final List<Partition> partitions;
+    private final int threads;
+    private long filesRead;
+    private long filesSkipped;
+
+    private SalesDataset(Path root, List<Partition> partitions, int threads) {
+        this.root = root;
+        this.partitions = partitions;
+        this.threads = threads;
+    }
+
+    public static SalesDataset open(Path root) throws IOException {
+        return open(root, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Lists every .csv file under root; threads is the number of files parsed at once.
+     *
+     * @throws IllegalArgumentException if root is not a directory or threads is not positive
+     */
+    public static SalesDataset open(Path root, int threads) throws IOException {
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("Not a directory: " + root);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            List<Partition> partitions = paths
+                    .filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(".csv"))
+                    .sorted()
+                    .map(p -> new Partition(p, root.relativize(p)))
+                    .collect(Collectors.toList());
+            return new SalesDataset(root, Collections.unmodifiableList(partitions), threads);
+        }
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public List<Partition> partitions() {
+        return partitions;
+    }
+
+    public List<SalesRecord> load() throws IOException {
+        return load(SalesFile.Filter.ALL);
+    }
+
+    /**
+     * Loads the rows matching the filter from every file it does not rule out.
+     */
+    public List<SalesRecord> load(SalesFile.Filter filter) throws IOException {
+        return load(filter, Analysis.values());
+    }
+
+    /**
+     * Like {@link #load(SalesFile.Filter)}, parsing only the columns the analyses and the
+     * filter need.
+     */
+    public List<SalesRecord> load(SalesFile.Filter filter, Analysis... analyses) throws IOException {
+        Set<Column> columns = EnumSet.copyOf(filter.columns());
+        columns.addAll(Analysis.columnsFor(analyses));
+        List<Partition> selected = new ArrayList<>();
+        for (Partition p : partitions) {
+            if (p.mayMatch(filter)) {
+                selected.add(p);
+            }
+        }
+        filesSkipped += partitions.size() - selected.size();
+        filesRead += selected.size();
+        if (selected.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, selected.size()));
+        try {
+            List<Future<List<SalesRecord>>> parts = new ArrayList<>();
+            for (Partition p : selected) {
+                parts.add(pool.submit(() -> p.read(columns, filter)));
+            }
+            List<SalesRecord> out = new ArrayList<>();
+            for (Future<List<SalesRecord>> part : parts) {
+                out.addAll(part.get());
+            }
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + root, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to load " + root, cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Files parsed by loads on this dataset so far.
+     */
+    public long filesRead() {
+        return filesRead;
+    }
+
+    /**
+     * Files pruned by loads on this dataset so far without being opened.
+     */
+    public long filesSkipped() {
+        return filesSkipped;
+    }
+
+    /**
+     * One CSV file with the partition keys taken from its directories.
+     */
+    public static final class Partition {
+        private final Path file;
+        private final Map<String, String> keys = new LinkedHashMap<>();
+        private LocalDate first;
+        private LocalDate last;
+
+        Partition(Path file, Path relative) {
+            this.file = file;
+            for (int i = 0; i < relative.getNameCount() - 1; i++) {
+                String name = relative.getName(i).toString();
+                int eq = name.indexOf('=');
+                if (eq > 0) {
+                    keys.put(name.substring(0, eq), name.substring(eq + 1));
+                }
+            }
+            keys.forEach(this::narrow);
+            String stem = file.getFileName().toString();
+            narrow("date", stem.substring(0, stem.length() - ".csv".length()));
+        }
+
+        private void narrow(String key, String value) {
+            try {
+                switch (key) {
+                    case "year":
+                        Year year = Year.parse(value);
+                        narrow(year.atDay(1), year.atMonth(12).atEndOfMonth());
+                        break;
+                    case "month":
+                        YearMonth month = YearMonth.parse(value);
+                        narrow(month.atDay(1), month.atEndOfMonth());
+                        break;
+                    case "date":
+                    case "day":
+                        LocalDate day = LocalDate.parse(value);
+                        narrow(day, day);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (DateTimeParseException e) {
+                // Not a date partition; it simply does not prune
+            }
+        }
+
+        private void narrow(LocalDate from, LocalDate to) {
+            first = first == null || from.isAfter(first) ? from : first;
+            last = last == null || to.isBefore(last) ? to : last;
+        }
+
+        public Path file() {
+            return file;
+        }
+
+        public Map<String, String> keys() {
+            return Collections.unmodifiableMap(keys);
+        }
+
+        /**
+         * First date the partition path admits, or null if the path does not bound it.
+         */
+        public LocalDate firstDate() {
+            return first;
+        }
+
+        public LocalDate lastDate() {
+            return last;
+        }
+
+        boolean mayMatch(SalesFile.Filter filter) {
+            String region = keys.get("region");
+            if (region != null && !filter.allowsRegion(region)) {
+                return false;
+            }
+            if (first != null && last != null && (first.isAfter(last) || !filter.overlaps(first, last))) {
+                return false;   // Contradictory keys such as month=2024-03/day=2024-04-01 hold nothing
+            }
+            return true;
+        }
+
+        /**
+         * Column values the path fixes for every row: the region, and the date of a single-day partition.
+         */
+        Map<Column, String> implied() {
+            Map<Column, String> implied = new EnumMap<>(Column.class);
+            String region = keys.get("region");
+            if (region != null) {
+                implied.put(Column.REGION, region);
+            }
+            if (first != null && first.equals(last)) {
+                implied.put(Column.DATE, first.toString());
+            }
+            return implied;
+        }
+
+        List<SalesRecord> read(Set<Column> columns, SalesFile.Filter filter) throws IOException {
+            List<SalesRecord> rows = new ProjectedCsvReader(columns, implied()).read(Files.newInputStream(file));
+            String region = keys.get("region");
+            List<SalesRecord> matching = new ArrayList<>();
+            for (SalesRecord r : rows) {
+                if (region != null && r.getRegion() != null && !region.equals(r.getRegion())) {
+                    throw new IllegalArgumentException("Row region '" + r.getRegion() + "' in " + file
+                            + " contradicts its partition region=" + region);
+                }
+                LocalDate date = r.getDate();
+                if (date != null && (first != null && date.isBefore(first) || last != null && date.isAfter(last))) {
+                    throw new IllegalArgumentException("Row date " + date + " in " + file
+                            + " lies outside its partition " + first + ".." + last);
+                }
+                if (filter.matches(r)) {
+                    matching.add(r);
+                }
+            }
+            return matching;
+        }
+    }
+}
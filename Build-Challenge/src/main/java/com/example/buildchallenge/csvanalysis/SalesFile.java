@@ -0,0 +1,554 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Project-native columnar file for sales history. Rows are stored in blocks (4096 by default);
+ * each block starts with a zone map holding the min/max date and the min/max dictionary code
+ * of region, salesperson and product, then its encoded length, so a reader can skip a block
+ * without decoding it. Inside a block dates are varint deltas, dimension codes and quantities
+ * are bit-packed as offsets from the block minimum, and prices are bit-packed as scaled
+ * integers when every price has at most six decimals (raw doubles otherwise). Dictionaries,
+ * counts and the block size follow the blocks in a footer. Dimension zone maps are most
+ * selective when rows are clustered, for example written sorted by region.
+ *
+ * <pre>
+ * file   := MAGIC version:int block* footer footerOffset:long MAGIC
+ * block  := rows:int minDay:int maxDay:int (minCode:int maxCode:int){3} length:int payload
+ * footer := dictionary{region, salesperson, product} rowCount:long blockCount:int blockRows:int
+ * </pre>
+ */
+public final class SalesFile {
+    private static final int MAGIC = 0x53434F4C;   // "SCOL"
+    private static final int VERSION = 1;
+    private static final int ZONE_BYTES = 4 * 8;   // minDay, maxDay and three code ranges
+    private static final int MAX_SCALE = 6;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6};
+
+    private final Path path;
+    private final StringDictionary[] dictionaries;
+    private final long rowCount;
+    private final int blockCount;
+    private final int blockRows;
+    private final long footerOffset;
+    private long blocksRead;
+    private long blocksSkipped;
+
+    private SalesFile(Path path, StringDictionary[] dictionaries, long rowCount, int blockCount,
+                      int blockRows, long footerOffset) {
+        this.path = path;
+        this.dictionaries = dictionaries;
+        this.rowCount = rowCount;
+        this.blockCount = blockCount;
+        this.blockRows = blockRows;
+        this.footerOffset = footerOffset;
+    }
+
+    public static void write(Iterable<SalesRecord> records, Path path) throws IOException {
+        write(records, path, ColumnBatch.DEFAULT_SIZE);
+    }
+
+    /**
+     * Writes the records in order, blockRows per block.
+     *
+     * @throws IllegalArgumentException if a record has a null field, as projected loads leave them
+     */
+    public static void write(Iterable<SalesRecord> records, Path path, int blockRows) throws IOException {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("blockRows must be positive");
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            BlockWriter writer = new BlockWriter(out, blockRows);
+            for (SalesRecord r : records) {
+                writer.add(r);
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Reads the footer of a file written by {@link #write}; blocks are read by {@link #read}.
+     */
+    public static SalesFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer head = read(channel, 0, 8);
+            ByteBuffer tail = read(channel, size - 12, 12);
+            if (size < 20 || head.getInt() != MAGIC || tail.getInt(8) != MAGIC) {
+                throw new IllegalArgumentException("Not a sales columnar file: " + path);
+            }
+            int version = head.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported sales file version " + version);
+            }
+            long footerOffset = tail.getLong();
+            ByteBuffer footer = read(channel, footerOffset, (int) (size - 12 - footerOffset));
+            StringDictionary[] dictionaries = new StringDictionary[3];
+            for (int d = 0; d < dictionaries.length; d++) {
+                dictionaries[d] = new StringDictionary();
+                int n = footer.getInt();
+                for (int i = 0; i < n; i++) {
+                    byte[] value = new byte[footer.getInt()];
+                    footer.get(value);
+                    dictionaries[d].code(value, 0, value.length);
+                }
+            }
+            return new SalesFile(path, dictionaries, footer.getLong(), footer.getInt(), footer.getInt(), footerOffset);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        if (position < 0 || length < 0) {
+            throw new IllegalArgumentException("Truncated sales columnar file");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalArgumentException("Truncated sales columnar file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    public List<SalesRecord> read() throws IOException {
+        return read(Filter.ALL);
+    }
+
+    /**
+     * Returns the records matching the filter, in file order. Blocks whose zone map rules out
+     * every row are skipped without being read.
+     */
+    public List<SalesRecord> read(Filter filter) throws IOException {
+        BitSet[] codes = new BitSet[3];
+        for (int d = 0; d < codes.length; d++) {
+            codes[d] = filter.codes(d, dictionaries[d]);
+        }
+        long minDay = filter.from == null ? Long.MIN_VALUE : filter.from.toEpochDay();
+        long maxDay = filter.to == null ? Long.MAX_VALUE : filter.to.toEpochDay();
+        List<SalesRecord> out = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = 8;
+            while (position < footerOffset) {
+                ByteBuffer zone = read(channel, position, 4 + ZONE_BYTES + 4);
+                int rows = zone.getInt();
+                int blockMin = zone.getInt();
+                int blockMax = zone.getInt();
+                boolean match = blockMax >= minDay && blockMin <= maxDay;
+                int[] minCode = new int[3];
+                int[] maxCode = new int[3];
+                for (int d = 0; d < 3; d++) {
+                    minCode[d] = zone.getInt();
+                    maxCode[d] = zone.getInt();
+                    if (codes[d] != null) {
+                        int next = codes[d].nextSetBit(minCode[d]);
+                        match &= next >= 0 && next <= maxCode[d];
+                    }
+                }
+                int length = zone.getInt();
+                position += zone.capacity();
+                if (match) {
+                    blocksRead++;
+                    decode(read(channel, position, length), rows, blockMin, minCode, codes, minDay, maxDay, out);
+                } else {
+                    blocksSkipped++;
+                }
+                position += length;
+            }
+        }
+        return out;
+    }
+
+    private void decode(ByteBuffer in, int rows, int blockMin, int[] minCode, BitSet[] codes,
+                        long minDay, long maxDay, List<SalesRecord> out) {
+        long[] days = new long[rows];
+        long day = blockMin + readVarLong(in);
+        days[0] = day;
+        for (int i = 1; i < rows; i++) {
+            long delta = readVarLong(in);
+            day += (delta >>> 1) ^ -(delta & 1);
+            days[i] = day;
+        }
+        long[][] dims = new long[3][];
+        for (int d = 0; d < 3; d++) {
+            dims[d] = unpack(in, rows, minCode[d]);
+        }
+        long[] quantity = unpack(in, rows, in.getInt());
+        int scale = in.get();
+        long[] scaled = null;
+        if (scale >= 0) {
+            scaled = unpack(in, rows, in.getLong());
+        }
+        for (int i = 0; i < rows; i++) {
+            double price = scale >= 0 ? scaled[i] / POWERS_OF_TEN[scale] : in.getDouble();
+            if (days[i] < minDay || days[i] > maxDay) {
+                continue;
+            }
+            boolean match = true;
+            for (int d = 0; d < 3 && match; d++) {
+                match = codes[d] == null || codes[d].get((int) dims[d][i]);
+            }
+            if (match) {
+                out.add(new SalesRecord(LocalDate.ofEpochDay(days[i]),
+                        dictionaries[0].value((int) dims[0][i]), dictionaries[1].value((int) dims[1][i]),
+                        dictionaries[2].value((int) dims[2][i]), (int) quantity[i], price));
+            }
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public int blockCount() {
+        return blockCount;
+    }
+
+    public int blockRows() {
+        return blockRows;
+    }
+
+    /**
+     * Blocks decoded by reads on this instance so far.
+     */
+    public long blocksRead() {
+        return blocksRead;
+    }
+
+    /**
+     * Blocks passed over by reads on this instance because their zone map ruled them out.
+     */
+    public long blocksSkipped() {
+        return blocksSkipped;
+    }
+
+    /**
+     * Row predicate on date range and dimension values; unset parts match everything.
+     * Instances are immutable, and each method returns a narrowed copy.
+     */
+    public static final class Filter {
+        public static final Filter ALL = new Filter(null, null, new String[3][]);
+
+        private static final int REGION = 0;
+        private static final int SALESPERSON = 1;
+        private static final int PRODUCT = 2;
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final String[][] values;   // Allowed values per dimension, or null for any
+
+        private Filter(LocalDate from, LocalDate to, String[][] values) {
+            this.from = from;
+            this.to = to;
+            this.values = values;
+        }
+
+        /**
+         * Keeps rows dated from..to inclusive; either bound may be null.
+         */
+        public Filter between(LocalDate from, LocalDate to) {
+            return new Filter(from, to, values);
+        }
+
+        public Filter regions(String... regions) {
+            return with(REGION, regions);
+        }
+
+        public Filter salespeople(String... salespeople) {
+            return with(SALESPERSON, salespeople);
+        }
+
+        public Filter products(String... products) {
+            return with(PRODUCT, products);
+        }
+
+        private Filter with(int dimension, String[] allowed) {
+            String[][] copy = values.clone();
+            copy[dimension] = allowed.clone();
+            return new Filter(from, to, copy);
+        }
+
+        /**
+         * True if some date in first..last (inclusive) passes the date bounds.
+         */
+        boolean overlaps(LocalDate first, LocalDate last) {
+            return (to == null || !first.isAfter(to)) && (from == null || !last.isBefore(from));
+        }
+
+        /**
+         * True if the dimension (0 region, 1 salesperson, 2 product) admits the value.
+         */
+        boolean allows(int dimension, String value) {
+            return values[dimension] == null || Arrays.asList(values[dimension]).contains(value);
+        }
+
+        boolean allowsRegion(String region) {
+            return allows(REGION, region);
+        }
+
+        boolean matches(SalesRecord r) {
+            return overlaps(r.getDate(), r.getDate()) && allows(REGION, r.getRegion())
+                    && allows(SALESPERSON, r.getSalesperson()) && allows(PRODUCT, r.getProduct());
+        }
+
+        /**
+         * Columns a row must carry for {@link #matches} to be evaluated.
+         */
+        Set<Column> columns() {
+            Set<Column> columns = EnumSet.noneOf(Column.class);
+            if (from != null || to != null) {
+                columns.add(Column.DATE);
+            }
+            Column[] dimensions = {Column.REGION, Column.SALESPERSON, Column.PRODUCT};
+            for (int d = 0; d < dimensions.length; d++) {
+                if (values[d] != null) {
+                    columns.add(dimensions[d]);
+                }
+            }
+            return columns;
+        }
+
+        private BitSet codes(int dimension, StringDictionary dictionary) {
+            if (values[dimension] == null) {
+                return null;
+            }
+            BitSet codes = new BitSet(dictionary.size());
+            for (String value : values[dimension]) {
+                int code = dictionary.find(value);
+                if (code >= 0) {
+                    codes.set(code);
+                }
+            }
+            return codes;
+        }
+    }
+
+    /**
+     * Buffers one block of rows at a time and writes it with its zone map.
+     */
+    private static final class BlockWriter {
+        private final DataOutputStream out;
+        private final StringDictionary[] dictionaries = {
+                new StringDictionary(), new StringDictionary(), new StringDictionary()};
+        private final long[] days;
+        private final long[][] dims;
+        private final long[] quantity;
+        private final double[] price;
+        private int rows;
+        private long written;   // DataOutputStream.size() stops counting at 2 GB
+        private long rowCount;
+        private int blockCount;
+        private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+        BlockWriter(DataOutputStream out, int blockRows) throws IOException {
+            this.out = out;
+            this.days = new long[blockRows];
+            this.dims = new long[3][blockRows];
+            this.quantity = new long[blockRows];
+            this.price = new double[blockRows];
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            written = 8;
+        }
+
+        void add(SalesRecord r) throws IOException {
+            if (r.getDate() == null || r.getRegion() == null || r.getSalesperson() == null
+                    || r.getProduct() == null) {
+                throw new IllegalArgumentException("SalesFile needs fully loaded records");
+            }
+            days[rows] = r.getDate().toEpochDay();
+            dims[0][rows] = dictionaries[0].code(r.getRegion());
+            dims[1][rows] = dictionaries[1].code(r.getSalesperson());
+            dims[2][rows] = dictionaries[2].code(r.getProduct());
+            quantity[rows] = r.getQuantity();
+            price[rows] = r.getPrice();
+            if (++rows == days.length) {
+                flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (rows > 0) {
+                flush();
+            }
+            long footerOffset = written;
+            for (StringDictionary dictionary : dictionaries) {
+                out.writeInt(dictionary.size());
+                for (int code = 0; code < dictionary.size(); code++) {
+                    byte[] value = dictionary.value(code).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(value.length);
+                    out.write(value);
+                }
+            }
+            out.writeLong(rowCount);
+            out.writeInt(blockCount);
+            out.writeInt(days.length);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+
+        private void flush() throws IOException {
+            payload.reset();
+            DataOutputStream p = new DataOutputStream(payload);
+            long minDay = min(days, rows);
+            writeVarLong(p, days[0] - minDay);
+            for (int i = 1; i < rows; i++) {
+                long delta = days[i] - days[i - 1];
+                writeVarLong(p, (delta << 1) ^ (delta >> 63));
+            }
+            long[] minCode = new long[3];
+            long[] maxCode = new long[3];
+            for (int d = 0; d < 3; d++) {
+                minCode[d] = min(dims[d], rows);
+                maxCode[d] = max(dims[d], rows);
+                pack(p, dims[d], rows, minCode[d]);
+            }
+            long minQuantity = min(quantity, rows);
+            p.writeInt((int) minQuantity);
+            pack(p, quantity, rows, minQuantity);
+            int scale = scaleOf(price, rows);
+            p.writeByte(scale);
+            if (scale >= 0) {
+                long[] scaled = new long[rows];
+                for (int i = 0; i < rows; i++) {
+                    scaled[i] = (long) Math.rint(price[i] * POWERS_OF_TEN[scale]);
+                }
+                long minScaled = min(scaled, rows);
+                p.writeLong(minScaled);
+                pack(p, scaled, rows, minScaled);
+            } else {
+                for (int i = 0; i < rows; i++) {
+                    p.writeDouble(price[i]);
+                }
+            }
+
+            out.writeInt(rows);
+            out.writeInt((int) minDay);
+            out.writeInt((int) max(days, rows));
+            for (int d = 0; d < 3; d++) {
+                out.writeInt((int) minCode[d]);
+                out.writeInt((int) maxCode[d]);
+            }
+            out.writeInt(payload.size());
+            payload.writeTo(out);
+            written += 4 + ZONE_BYTES + 4 + payload.size();
+            rowCount += rows;
+            blockCount++;
+            rows = 0;
+        }
+
+        /**
+         * Smallest number of decimals that represents every price exactly, or -1 if none does.
+         */
+        private static int scaleOf(double[] price, int n) {
+            for (int scale = 0; scale <= MAX_SCALE; scale++) {
+                boolean exact = true;
+                for (int i = 0; i < n && exact; i++) {
+                    double scaled = Math.rint(price[i] * POWERS_OF_TEN[scale]);
+                    exact = Math.abs(scaled) < 1L << 52 && scaled / POWERS_OF_TEN[scale] == price[i];
+                }
+                if (exact) {
+                    return scale;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static long min(long[] values, int n) {
+        long min = values[0];
+        for (int i = 1; i < n; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    private static long max(long[] values, int n) {
+        long max = values[0];
+        for (int i = 1; i < n; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Writes values[i] - base for the first n values at the smallest bit width that holds them all.
+     */
+    private static void pack(DataOutputStream out, long[] values, int n, long base) throws IOException {
+        long range = 0;
+        for (int i = 0; i < n; i++) {
+            range |= values[i] - base;
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(range);
+        out.writeByte(bits);
+        long[] words = new long[(int) (((long) n * bits + 63) >>> 6)];
+        for (int i = 0; i < n && bits > 0; i++) {   // All values equal: nothing to store
+            long v = values[i] - base;
+            long bit = (long) i * bits;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            words[word] |= v << offset;
+            if (offset + bits > 64) {
+                words[word + 1] |= v >>> (64 - offset);
+            }
+        }
+        for (long w : words) {
+            out.writeLong(w);
+        }
+    }
+
+    private static long[] unpack(ByteBuffer in, int n, long base) {
+        int bits = in.get();
+        long[] words = new long[(int) (((long) n * bits + 63) >>> 6)];
+        for (int w = 0; w < words.length; w++) {
+            words[w] = in.getLong();
+        }
+        long mask = bits == 64 ? -1L : (1L << bits) - 1;
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            long bit = (long) i * bits;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            long v = words.length == 0 ? 0 : words[word] >>> offset;
+            if (offset + bits > 64) {
+                v |= words[word + 1] << (64 - offset);
+            }
+            values[i] = base + (v & mask);
+        }
+        return values;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap indexes over a fixed list of records: one RoaringBitmap of row numbers per distinct
+ * region, product and salesperson. Filters such as "Widget in North or East" become
+ * product("Widget").and(region("North", "East")), and aggregations then visit only the
+ * matching rows, reading revenue from a precomputed double[]. Unknown values match nothing.
+ */
+public class SalesIndex {
+    private final List<SalesRecord> records;
+    private final double[] revenue;
+    private final Map<String, RoaringBitmap> regions = new HashMap<>();
+    private final Map<String, RoaringBitmap> products = new HashMap<>();
+    private final Map<String, RoaringBitmap> salespeople = new HashMap<>();
+
+    private SalesIndex(List<SalesRecord> records) {
+        this.records = records;
+        this.revenue = new double[records.size()];
+        int row = 0;
+        for (SalesRecord r : records) {
+            revenue[row] = r.total();
+            index(regions, r.getRegion(), row);
+            index(products, r.getProduct(), row);
+            index(salespeople, r.getSalesperson(), row);
+            row++;
+        }
+    }
+
+    /**
+     * Indexes the records in list order; row numbers are list positions.
+     */
+    public static SalesIndex build(List<SalesRecord> records) {
+        return new SalesIndex(new ArrayList<>(records));
+    }
+
+    private static void index(Map<String, RoaringBitmap> index, String value, int row) {
+        if (value != null) {
+            index.computeIfAbsent(value, v -> new RoaringBitmap()).add(row);
+        }
+    }
+
+    /**
+     * Rows in any of the given regions.
+     */
+    public RoaringBitmap region(String... values) {
+        return lookup(regions, values);
+    }
+
+    public RoaringBitmap product(String... values) {
+        return lookup(products, values);
+    }
+
+    public RoaringBitmap salesperson(String... values) {
+        return lookup(salespeople, values);
+    }
+
+    private static RoaringBitmap lookup(Map<String, RoaringBitmap> index, String[] values) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bitmaps[i] = index.getOrDefault(values[i], new RoaringBitmap());
+        }
+        return RoaringBitmap.union(bitmaps);   // Always a copy, so callers cannot alter the index
+    }
+
+    /**
+     * Total revenue of the given rows.
+     */
+    public double revenue(RoaringBitmap rows) {
+        double[] sum = new double[1];
+        rows.forEach(row -> sum[0] += revenue[row]);
+        return sum[0];
+    }
+
+    public List<SalesRecord> records(RoaringBitmap rows) {
+        List<SalesRecord> matching = new ArrayList<>((int) rows.cardinality());
+        rows.forEach(row -> matching.add(records.get(row)));
+        return matching;
+    }
+
+    public int rowCount() {
+        return records.size();
+    }
+
+    /**
+     * Approximate heap used by all bitmaps.
+     */
+    public long indexSizeInBytes() {
+        long bytes = 0;
+        for (Map<String, RoaringBitmap> index : List.of(regions, products, salespeople)) {
+            for (RoaringBitmap b : index.values()) {
+                bytes += b.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+}
@@ -11,7 +11,7 @@ public class SalesRecord {
     private final String region, salesperson, product;
     private final int quantity;
     private final double price;
-    private static final DateTimeFormatter F = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public SalesRecord(LocalDate d, String r, String s, String p, int q, double pr) {
         date=d; region=r; salesperson=s; product=p; quantity=q; price=pr;
@@ -21,7 +21,7 @@ public class SalesRecord {
      */
     public static SalesRecord fromCsv(String line) {
         String[] a=line.split(",");
-        return new SalesRecord(LocalDate.parse(a[0].trim(),F),a[1].trim(),a[2].trim(),
+        return new SalesRecord(LocalDate.parse(a[0].trim(),DATE_FORMAT),a[1].trim(),a[2].trim(),
                 a[3].trim(),Integer.parseInt(a[4].trim()),Double.parseDouble(a[5].trim()));
     }
     public double total(){ return quantity*price; }
@@ -29,4 +29,6 @@ public class SalesRecord {
     public String getRegion(){return region;}
     public String getSalesperson(){return salesperson;}
     public String getProduct(){return product;}
+    public int getQuantity(){return quantity;}
+    public double getPrice(){return price;}
 }
@@ -0,0 +1,135 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fixed-memory summary of an unbounded stream of sales records: approximate top products
+ * and salespeople by revenue (Space-Saving), per-product revenue point estimates
+ * (Count-Min), and distinct salespeople and products per region and per month (HyperLogLog).
+ * Memory grows only with the number of regions and months, not with product or salesperson
+ * keys. Sketches built with the same settings can be merged, e.g. one per input partition.
+ * Not thread-safe.
+ */
+public class SalesSketch {
+    private final int topK;
+    private final int hllPrecision;
+    private final SpaceSaving topProducts;
+    private final SpaceSaving topSalespeople;
+    private final CountMinSketch productRevenue;
+    private final Map<String, HyperLogLog[]> byRegion = new HashMap<>();   // [salespeople, products]
+    private final Map<YearMonth, HyperLogLog[]> byMonth = new HashMap<>();
+
+    /**
+     * Uses 1000 heavy-hitter counters, a 0.1%/1% Count-Min Sketch and 1.6% error HyperLogLogs.
+     */
+    public SalesSketch() {
+        this(1000, 0.001, 0.01, 12);
+    }
+
+    /**
+     * @param topK         heavy-hitter counters; top-N revenue is off by at most total / topK
+     * @param epsilon      Count-Min overcount bound as a fraction of total revenue
+     * @param delta        probability a Count-Min estimate exceeds that bound
+     * @param hllPrecision HyperLogLog index bits; standard error is 1.04 / sqrt(2^hllPrecision)
+     */
+    public SalesSketch(int topK, double epsilon, double delta, int hllPrecision) {
+        this.topK = topK;
+        this.hllPrecision = hllPrecision;
+        this.topProducts = new SpaceSaving(topK);
+        this.topSalespeople = new SpaceSaving(topK);
+        this.productRevenue = new CountMinSketch(epsilon, delta);
+        new HyperLogLog(hllPrecision);   // Validates precision up front
+    }
+
+    public void add(SalesRecord r) {
+        double revenue = r.total();
+        topProducts.add(r.getProduct(), revenue);
+        topSalespeople.add(r.getSalesperson(), revenue);
+        productRevenue.add(r.getProduct(), revenue);
+        long salesperson = Hashing.hash64(r.getSalesperson());
+        long product = Hashing.hash64(r.getProduct());
+        addDistinct(byRegion.computeIfAbsent(r.getRegion(), k -> newPair()), salesperson, product);
+        addDistinct(byMonth.computeIfAbsent(YearMonth.from(r.getDate()), k -> newPair()), salesperson, product);
+    }
+
+    public void addAll(Iterable<SalesRecord> records) {
+        for (SalesRecord r : records) {
+            add(r);
+        }
+    }
+
+    public List<Map.Entry<String, Double>> topProducts(int n) {
+        return topProducts.top(n);
+    }
+
+    public List<Map.Entry<String, Double>> topSalespeople(int n) {
+        return topSalespeople.top(n);
+    }
+
+    /**
+     * Revenue estimate for any product, tracked in the top list or not; never an underestimate.
+     */
+    public double productRevenueEstimate(String product) {
+        return productRevenue.estimate(product);
+    }
+
+    public Map<String, Long> distinctSalespeopleByRegion() {
+        return estimates(byRegion, 0, new HashMap<>());
+    }
+
+    public Map<String, Long> distinctProductsByRegion() {
+        return estimates(byRegion, 1, new HashMap<>());
+    }
+
+    public Map<YearMonth, Long> distinctSalespeopleByMonth() {
+        return estimates(byMonth, 0, new TreeMap<>());
+    }
+
+    public Map<YearMonth, Long> distinctProductsByMonth() {
+        return estimates(byMonth, 1, new TreeMap<>());
+    }
+
+    public double totalRevenue() {
+        return productRevenue.totalWeight();
+    }
+
+    /**
+     * Folds another sketch built with the same settings into this one.
+     */
+    public void merge(SalesSketch other) {
+        if (other.topK != topK || other.hllPrecision != hllPrecision) {
+            throw new IllegalArgumentException("Cannot merge sketches with different settings");
+        }
+        topProducts.merge(other.topProducts);
+        topSalespeople.merge(other.topSalespeople);
+        productRevenue.merge(other.productRevenue);
+        mergeGroups(byRegion, other.byRegion);
+        mergeGroups(byMonth, other.byMonth);
+    }
+
+    private <K> void mergeGroups(Map<K, HyperLogLog[]> into, Map<K, HyperLogLog[]> from) {
+        from.forEach((k, pair) -> {
+            HyperLogLog[] mine = into.computeIfAbsent(k, x -> newPair());
+            mine[0].merge(pair[0]);
+            mine[1].merge(pair[1]);
+        });
+    }
+
+    private HyperLogLog[] newPair() {
+        return new HyperLogLog[]{new HyperLogLog(hllPrecision), new HyperLogLog(hllPrecision)};
+    }
+
+    private static void addDistinct(HyperLogLog[] pair, long salesperson, long product) {
+        pair[0].addHash(salesperson);
+        pair[1].addHash(product);
+    }
+
+    private static <K> Map<K, Long> estimates(Map<K, HyperLogLog[]> groups, int which, Map<K, Long> result) {
+        groups.forEach((k, pair) -> result.put(k, pair[which].estimate()));
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-pass summary of a record stream: overall, per-region and per-month revenue totals
+ * together with order-value quantile sketches. Memory per group is bounded by the sketch
+ * size, whatever the number of rows. Summaries built with the same k can be merged.
+ */
+public class SalesSummary {
+    private final int k;
+    private final GroupSummary overall;
+    private final Map<String, GroupSummary> byRegion = new HashMap<>();
+    private final Map<YearMonth, GroupSummary> byMonth = new TreeMap<>();
+
+    public SalesSummary() {
+        this(KllSketch.DEFAULT_K);
+    }
+
+    public SalesSummary(int k) {
+        this.k = k;
+        this.overall = new GroupSummary(k);
+    }
+
+    public static SalesSummary of(Iterable<SalesRecord> records) {
+        SalesSummary summary = new SalesSummary();
+        for (SalesRecord r : records) {
+            summary.add(r);
+        }
+        return summary;
+    }
+
+    public void add(SalesRecord r) {
+        overall.add(r);
+        byRegion.computeIfAbsent(r.getRegion(), x -> new GroupSummary(k)).add(r);
+        byMonth.computeIfAbsent(YearMonth.from(r.getDate()), x -> new GroupSummary(k)).add(r);
+    }
+
+    public SalesSummary merge(SalesSummary other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge summaries with different k");
+        }
+        overall.merge(other.overall);
+        other.byRegion.forEach((region, g) -> byRegion.computeIfAbsent(region, x -> new GroupSummary(k)).merge(g));
+        other.byMonth.forEach((month, g) -> byMonth.computeIfAbsent(month, x -> new GroupSummary(k)).merge(g));
+        return this;
+    }
+
+    public GroupSummary overall() {
+        return overall;
+    }
+
+    public Map<String, GroupSummary> byRegion() {
+        return Collections.unmodifiableMap(byRegion);
+    }
+
+    public Map<YearMonth, GroupSummary> byMonth() {
+        return Collections.unmodifiableMap(byMonth);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitter summary over weighted keys, tracking at most capacity keys.
+ * When a new key arrives at a full summary it replaces the smallest counter and inherits
+ * its count, so every count overestimates by at most totalWeight / capacity and every key
+ * heavier than that is guaranteed to be tracked. Summaries of equal capacity can be merged.
+ * Not thread-safe.
+ */
+public class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(
+            Comparator.comparingDouble((Counter c) -> c.count).thenComparing(c -> c.key));
+    private double totalWeight;
+
+    private static final class Counter {
+        final String key;
+        double count;
+        double error;   // Upper bound on how much of count came from evicted keys
+
+        Counter(String key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a summary whose counts overestimate by at most epsilon * totalWeight.
+     */
+    public static SpaceSaving forError(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be between 0 and 1");
+        }
+        return new SpaceSaving((int) Math.ceil(1 / epsilon));
+    }
+
+    public void add(String key, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        }
+        totalWeight += weight;
+        Counter c = counters.get(key);
+        if (c != null) {
+            byCount.remove(c);
+            c.count += weight;
+            byCount.add(c);
+        } else if (counters.size() < capacity) {
+            c = new Counter(key, weight, 0);
+            counters.put(key, c);
+            byCount.add(c);
+        } else {
+            Counter min = byCount.pollFirst();
+            counters.remove(min.key);
+            c = new Counter(key, min.count + weight, min.count);
+            counters.put(key, c);
+            byCount.add(c);
+        }
+    }
+
+    /**
+     * Estimated weight of key: an upper bound if tracked, otherwise at most minCount().
+     */
+    public double estimate(String key) {
+        Counter c = counters.get(key);
+        return c != null ? c.count : minCount();
+    }
+
+    /**
+     * Maximum overestimate of the tracked key's count (0 if it was never evicted into).
+     */
+    public double error(String key) {
+        Counter c = counters.get(key);
+        return c != null ? c.error : minCount();
+    }
+
+    /**
+     * Up to n tracked keys by estimated weight, highest first.
+     */
+    public List<Map.Entry<String, Double>> top(int n) {
+        List<Map.Entry<String, Double>> result = new ArrayList<>();
+        for (Counter c : byCount.descendingSet()) {
+            if (result.size() >= n) {
+                break;
+            }
+            result.add(new AbstractMap.SimpleImmutableEntry<>(c.key, c.count));
+        }
+        return result;
+    }
+
+    /**
+     * Combines another summary of the same capacity into this one. A key missing from one side
+     * is charged that side's minimum count, then the capacity largest counters are kept.
+     */
+    public void merge(SpaceSaving other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Cannot merge summaries of different capacity");
+        }
+        double minThis = minCount();
+        double minOther = other.minCount();
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+        List<Counter> merged = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Counter a = counters.get(key);
+            Counter b = other.counters.get(key);
+            double count = (a != null ? a.count : minThis) + (b != null ? b.count : minOther);
+            double error = (a != null ? a.error : minThis) + (b != null ? b.error : minOther);
+            merged.add(new Counter(key, count, error));
+        }
+        merged.sort(Comparator.comparingDouble((Counter c) -> c.count).reversed());
+        counters.clear();
+        byCount.clear();
+        for (Counter c : merged.subList(0, Math.min(capacity, merged.size()))) {
+            counters.put(c.key, c);
+            byCount.add(c);
+        }
+        totalWeight += other.totalWeight;
+    }
+
+    /**
+     * Smallest tracked count while full (the most an untracked key can weigh), otherwise 0.
+     */
+    public double minCount() {
+        return counters.size() < capacity ? 0 : byCount.first().count;
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * Sums values per string key within a heap budget. Partial sums are kept in a hash map; when
+ * its estimated size passes the budget they are sorted by key and written to a temp file as
+ * a run. {@link #finish} merges the runs and the in-memory remainder with a k-way merge,
+ * combining equal keys, and emits every key once in sorted order. Temp files are removed by
+ * finish or {@link #close}. Not thread-safe.
+ */
+public class SpillingGroupBy implements Closeable {
+    // Rough heap cost of one entry: hash node, String header and array, double[] holder
+    private static final int ENTRY_OVERHEAD = 112;
+
+    private final long memoryBudget;
+    private final Path tempDir;
+    private Map<String, double[]> partial = new HashMap<>();
+    private long estimatedBytes;
+    private final List<Path> runs = new ArrayList<>();
+    private long spilledEntries;
+
+    /**
+     * @param memoryBudgetBytes estimated heap the in-memory partial sums may use before spilling
+     * @param tempDir           directory for run files, or null for the system temp directory
+     */
+    public SpillingGroupBy(long memoryBudgetBytes, Path tempDir) {
+        if (memoryBudgetBytes < ENTRY_OVERHEAD) {
+            throw new IllegalArgumentException("memoryBudgetBytes must be at least " + ENTRY_OVERHEAD);
+        }
+        this.memoryBudget = memoryBudgetBytes;
+        this.tempDir = tempDir;
+    }
+
+    public void add(String key, double value) throws IOException {
+        double[] sum = partial.get(key);
+        if (sum == null) {
+            if (estimatedBytes + entryBytes(key) > memoryBudget && !partial.isEmpty()) {
+                spill();
+            }
+            partial.put(key, new double[]{value});
+            estimatedBytes += entryBytes(key);
+        } else {
+            sum[0] += value;
+        }
+    }
+
+    private static long entryBytes(String key) {
+        return ENTRY_OVERHEAD + 2L * key.length();
+    }
+
+    private void spill() throws IOException {
+        Path run = tempDir == null ? Files.createTempFile("groupby-run", ".bin")
+                : Files.createTempFile(tempDir, "groupby-run", ".bin");
+        runs.add(run);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            for (Map.Entry<String, double[]> e : sorted(partial)) {
+                out.writeUTF(e.getKey());
+                out.writeDouble(e.getValue()[0]);
+            }
+        }
+        spilledEntries += partial.size();
+        partial = new HashMap<>();
+        estimatedBytes = 0;
+    }
+
+    private static List<Map.Entry<String, double[]>> sorted(Map<String, double[]> map) {
+        List<Map.Entry<String, double[]>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        return entries;
+    }
+
+    /**
+     * Emits the total for every key in ascending key order, then releases all state.
+     */
+    public void finish(BiConsumer<String, Double> out) throws IOException {
+        List<Cursor> cursors = new ArrayList<>();
+        try {
+            PriorityQueue<Cursor> heap = new PriorityQueue<>((a, b) -> a.key.compareTo(b.key));
+            for (Path run : runs) {
+                Cursor c = new FileCursor(run);
+                cursors.add(c);
+                if (c.advance()) {
+                    heap.add(c);
+                }
+            }
+            Cursor memory = new MemoryCursor(sorted(partial).iterator());
+            partial = new HashMap<>();
+            estimatedBytes = 0;
+            if (memory.advance()) {
+                heap.add(memory);
+            }
+            while (!heap.isEmpty()) {
+                Cursor c = heap.poll();
+                String key = c.key;
+                double sum = c.value;
+                if (c.advance()) {
+                    heap.add(c);
+                }
+                while (!heap.isEmpty() && heap.peek().key.equals(key)) {
+                    Cursor same = heap.poll();
+                    sum += same.value;
+                    if (same.advance()) {
+                        heap.add(same);
+                    }
+                }
+                out.accept(key, sum);
+            }
+        } finally {
+            for (Cursor c : cursors) {
+                c.close();
+            }
+            close();
+        }
+    }
+
+    /**
+     * Number of run files written so far.
+     */
+    public int spillCount() {
+        return runs.size();
+    }
+
+    /**
+     * Entries written to runs so far; a key that spilled more than once is counted each time.
+     */
+    public long spilledEntries() {
+        return spilledEntries;
+    }
+
+    /**
+     * Deletes any run files without emitting results.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * Current position in one sorted source of partial sums.
+     */
+    private abstract static class Cursor implements Closeable {
+        String key;
+        double value;
+
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static final class FileCursor extends Cursor {
+        private final DataInputStream in;
+
+        FileCursor(Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            try {
+                key = in.readUTF();
+            } catch (EOFException e) {
+                return false;
+            }
+            value = in.readDouble();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class MemoryCursor extends Cursor {
+        private final Iterator<Map.Entry<String, double[]>> entries;
+
+        MemoryCursor(Iterator<Map.Entry<String, double[]>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        boolean advance() {
+            if (!entries.hasNext()) {
+                return false;
+            }
+            Map.Entry<String, double[]> e = entries.next();
+            key = e.getKey();
+            value = e.getValue()[0];
+            return true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns dense int codes (0, 1, 2, ...) to distinct strings. Lookups can go straight
+ * from UTF-8 bytes, so a repeated value is never decoded into a new String. Not thread-safe.
+ */
+public class StringDictionary {
+    private byte[][] keys = new byte[16][];
+    private int[] codes = new int[16];
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code for the UTF-8 bytes in [from, to), adding the value if it is new.
+     */
+    public int code(byte[] b, int from, int to) {
+        int mask = keys.length - 1;
+        for (int i = hash(b, from, to) & mask; ; i = (i + 1) & mask) {
+            byte[] key = keys[i];
+            if (key == null) {
+                return add(Arrays.copyOfRange(b, from, to), i);
+            }
+            if (Arrays.equals(key, 0, key.length, b, from, to)) {
+                return codes[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the code for the UTF-8 bytes in [from, to), or -1 if the value was never added.
+     */
+    public int find(byte[] b, int from, int to) {
+        int mask = keys.length - 1;
+        for (int i = hash(b, from, to) & mask; ; i = (i + 1) & mask) {
+            byte[] key = keys[i];
+            if (key == null) {
+                return -1;
+            }
+            if (Arrays.equals(key, 0, key.length, b, from, to)) {
+                return codes[i];
+            }
+        }
+    }
+
+    public int find(String value) {
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        return find(b, 0, b.length);
+    }
+
+    public int code(String value) {
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        return code(b, 0, b.length);
+    }
+
+    public String value(int code) {
+        return values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private int add(byte[] key, int slot) {
+        int code = values.size();
+        values.add(new String(key, StandardCharsets.UTF_8));
+        keys[slot] = key;
+        codes[slot] = code;
+        if (values.size() * 2 > keys.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    private void rehash() {
+        byte[][] oldKeys = keys;
+        int[] oldCodes = codes;
+        keys = new byte[oldKeys.length * 2][];
+        codes = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            byte[] key = oldKeys[j];
+            if (key != null) {
+                int i = hash(key, 0, key.length) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                codes[i] = oldCodes[j];
+            }
+        }
+    }
+
+    private static int hash(byte[] b, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + b[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
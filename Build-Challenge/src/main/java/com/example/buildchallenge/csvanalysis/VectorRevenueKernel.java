@@ -0,0 +1,35 @@
+package com.example.buildchallenge.csvanalysis;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD revenue sum using the incubating Vector API. Only compiled by the vector profile
+ * (see pom.xml) and needs --add-modules jdk.incubator.vector at run time; ColumnarSales
+ * loads it reflectively and falls back to a scalar loop without it.
+ */
+class VectorRevenueKernel implements ColumnarSales.RevenueKernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Same lane count as DOUBLES, at half the width
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public double sum(int[] quantity, double[] price, int n) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(n); i < bound; i += DOUBLES.length()) {
+            DoubleVector q = (DoubleVector) IntVector.fromArray(INTS, quantity, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            acc = acc.add(q.mul(DoubleVector.fromArray(DOUBLES, price, i)));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += quantity[i] * price[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Incremental revenue totals over tumbling or sliding windows of record dates, for feeds that
+ * never finish. Records carry only a date, so windows are whole days aligned to 1970-01-01.
+ * The watermark trails the latest date seen by the allowed lateness; a window is emitted to
+ * the listener and evicted once its end falls at or before the watermark, so memory is bounded
+ * by the number of windows the lateness spans. Records older than every open window they
+ * belong to are dropped and counted. Not thread-safe.
+ */
+public class WindowedAggregator {
+    private final int sizeDays;
+    private final int slideDays;
+    private final int latenessDays;
+    private final Consumer<Window> listener;
+    private final TreeMap<Long, Window> open = new TreeMap<>();
+    private long maxDay = Long.MIN_VALUE;
+    private long watermark = Long.MIN_VALUE;
+    private long lateDropped;
+
+    /**
+     * @param sizeDays     window length in days
+     * @param slideDays    distance between window starts; equal to sizeDays for tumbling windows
+     * @param latenessDays how far behind the latest date records may arrive and still be counted
+     * @param listener     receives each window once, when it closes
+     */
+    public WindowedAggregator(int sizeDays, int slideDays, int latenessDays, Consumer<Window> listener) {
+        if (sizeDays < 1 || slideDays < 1 || slideDays > sizeDays) {
+            throw new IllegalArgumentException("slide must be between 1 and the window size");
+        }
+        if (latenessDays < 0) {
+            throw new IllegalArgumentException("latenessDays must not be negative");
+        }
+        this.sizeDays = sizeDays;
+        this.slideDays = slideDays;
+        this.latenessDays = latenessDays;
+        this.listener = listener;
+    }
+
+    public static WindowedAggregator tumbling(int sizeDays, int latenessDays, Consumer<Window> listener) {
+        return new WindowedAggregator(sizeDays, sizeDays, latenessDays, listener);
+    }
+
+    public static WindowedAggregator sliding(int sizeDays, int slideDays, int latenessDays,
+                                             Consumer<Window> listener) {
+        return new WindowedAggregator(sizeDays, slideDays, latenessDays, listener);
+    }
+
+    /**
+     * Adds the record to every open window covering its date, then advances the watermark.
+     */
+    public void add(SalesRecord record) {
+        long day = record.getDate().toEpochDay();
+        boolean accepted = false;
+        for (long start = Math.floorDiv(day, slideDays) * slideDays; start > day - sizeDays; start -= slideDays) {
+            if (start + sizeDays <= watermark) {
+                break;   // This and every earlier window have already closed
+            }
+            open.computeIfAbsent(start, s -> new Window(s, s + sizeDays)).add(record);
+            accepted = true;
+        }
+        if (!accepted) {
+            lateDropped++;
+        }
+        if (day > maxDay) {
+            maxDay = day;
+            advance(day - latenessDays);
+        }
+    }
+
+    public void addAll(Iterable<SalesRecord> records) {
+        for (SalesRecord r : records) {
+            add(r);
+        }
+    }
+
+    /**
+     * Declares that no records dated before the given day will arrive, closing windows even
+     * when the feed is idle. A watermark behind the current one is ignored.
+     */
+    public void advanceWatermark(LocalDate date) {
+        advance(date.toEpochDay());
+    }
+
+    /**
+     * Closes and emits every open window, as at the end of a finite feed.
+     */
+    public void flush() {
+        advance(Long.MAX_VALUE);
+    }
+
+    private void advance(long newWatermark) {
+        if (newWatermark <= watermark) {
+            return;
+        }
+        watermark = newWatermark;
+        Iterator<Window> it = open.values().iterator();
+        while (it.hasNext()) {
+            Window w = it.next();
+            if (w.endDay > watermark) {
+                break;   // Windows are ordered by start, and so by end
+            }
+            it.remove();
+            listener.accept(w);
+        }
+    }
+
+    /**
+     * Current partial totals of the windows still open, oldest first, for live dashboards.
+     */
+    public List<Window> openWindows() {
+        List<Window> snapshot = new ArrayList<>(open.size());
+        for (Window w : open.values()) {
+            snapshot.add(w.copy());
+        }
+        return snapshot;
+    }
+
+    /**
+     * First date that may still be counted, or null before any record has been seen.
+     */
+    public LocalDate watermark() {
+        return watermark == Long.MIN_VALUE || watermark == Long.MAX_VALUE ? null : LocalDate.ofEpochDay(watermark);
+    }
+
+    public long lateDropped() {
+        return lateDropped;
+    }
+
+    /**
+     * Totals for the dates in [start, end).
+     */
+    public static final class Window {
+        private final long startDay;
+        private final long endDay;
+        private long count;
+        private double total;
+        private final Map<String, Double> byRegion;
+
+        private Window(long startDay, long endDay) {
+            this(startDay, endDay, 0, 0, new HashMap<>());
+        }
+
+        private Window(long startDay, long endDay, long count, double total, Map<String, Double> byRegion) {
+            this.startDay = startDay;
+            this.endDay = endDay;
+            this.count = count;
+            this.total = total;
+            this.byRegion = byRegion;
+        }
+
+        private void add(SalesRecord r) {
+            double value = r.total();
+            count++;
+            total += value;
+            byRegion.merge(r.getRegion(), value, Double::sum);
+        }
+
+        private Window copy() {
+            return new Window(startDay, endDay, count, total, new HashMap<>(byRegion));
+        }
+
+        public LocalDate start() {
+            return LocalDate.ofEpochDay(startDay);
+        }
+
+        /**
+         * First date after the window.
+         */
+        public LocalDate end() {
+            return LocalDate.ofEpochDay(endDay);
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double total() {
+            return total;
+        }
+
+        public Map<String, Double> byRegion() {
+            return Collections.unmodifiableMap(byRegion);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s, %s) count=%d total=%.2f", start(), end(), count, total);
+        }
+    }
+}
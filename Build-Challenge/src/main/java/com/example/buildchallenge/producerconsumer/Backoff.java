@@ -0,0 +1,33 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait strategy for the lock-free buffers: spin (multi-core only), then yield, then park for
+ * exponentially longer. Spinning on a single CPU only burns the time slice the other side needs.
+ */
+final class Backoff {
+    private static final int SPIN_TRIES = Runtime.getRuntime().availableProcessors() > 1 ? 100 : 0;
+    private static final int YIELD_TRIES = SPIN_TRIES + 10;
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private Backoff() {
+    }
+
+    /**
+     * Pauses before retry number attempt. Throws if the calling thread has been interrupted.
+     */
+    static void pause(int attempt) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1L << Math.min(attempt - YIELD_TRIES, 20)));
+        }
+    }
+}
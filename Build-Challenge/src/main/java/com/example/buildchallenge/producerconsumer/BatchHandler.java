@@ -0,0 +1,14 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.List;
+
+/**
+ * Receives a batch of items collected by a BatchingConsumer.
+ */
+@FunctionalInterface
+public interface BatchHandler<T> {
+    /**
+     * Handles one non-empty batch. The list is reused by the caller; copy it to retain items.
+     */
+    void handle(List<T> batch) throws InterruptedException;
+}
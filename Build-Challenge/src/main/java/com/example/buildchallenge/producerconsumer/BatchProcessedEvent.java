@@ -0,0 +1,20 @@
+package com.example.buildchallenge.producerconsumer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event: time a BatchHandler spent processing one batch.
+ */
+@Name("com.example.buildchallenge.BatchProcessed")
+@Label("Batch Processed")
+@Category({"Build Challenge", "Producer-Consumer"})
+@Description("Duration of one BatchingConsumer handler call")
+@Threshold("0 ms")
+final class BatchProcessedEvent extends jdk.jfr.Event {
+    @Label("Batch Size")
+    int batchSize;
+}
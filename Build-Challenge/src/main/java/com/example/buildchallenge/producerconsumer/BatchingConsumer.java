@@ -0,0 +1,89 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+/**
+ * Consumer thread that collects items into batches and hands each batch to a BatchHandler.
+ * A batch is flushed once it holds maxBatchSize items or lingerMs has passed since its
+ * first item arrived, whichever comes first. Each handler call is recorded as a JFR
+ * BatchProcessed event. An interrupt while lingering, such as the one a shutdown deadline
+ * sends, flushes the partial batch before the consumer stops.
+ */
+public class BatchingConsumer<T> implements Runnable {
+    private final HandoffBuffer<T> buffer;
+    private final BatchHandler<T> handler;
+    private final int maxBatchSize;
+    private final long lingerMs;
+
+    public BatchingConsumer(HandoffBuffer<T> buffer, BatchHandler<T> handler, int maxBatchSize, long lingerMs) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        if (lingerMs < 0) {
+            throw new IllegalArgumentException("lingerMs must not be negative: " + lingerMs);
+        }
+        this.buffer = buffer;
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMs = lingerMs;
+    }
+
+    @Override
+    public void run() {
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (true) {
+                T first = buffer.take();
+                if (first == null && buffer.isDone()) {
+                    break;
+                }
+                batch.add(first);
+                boolean interrupted = !fill(batch);
+                BatchProcessedEvent event = new BatchProcessedEvent();
+                event.begin();
+                handler.handle(batch);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.batchSize = batch.size();
+                    event.commit();
+                }
+                batch.clear();
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tops up the batch until it is full, the linger deadline passes or production is done.
+     * Returns false if interrupted; the items collected so far stay in the batch.
+     */
+    private boolean fill(List<T> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < maxBatchSize) {
+            if (buffer.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return true;
+            }
+            T item;
+            try {
+                item = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                return false;   // Already out of the buffer: the caller must still hand them over
+            }
+            if (item == null) {
+                return true;  // Linger expired, or done and empty
+            }
+            batch.add(item);
+        }
+        return true;
+    }
+}
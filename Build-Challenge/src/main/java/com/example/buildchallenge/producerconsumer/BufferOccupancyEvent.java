@@ -0,0 +1,71 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * Periodic JFR event reporting the occupancy of each live SharedBuffer that opted in through
+ * {@link SharedBuffer#trackOccupancy()}.
+ */
+@Name("com.example.buildchallenge.BufferOccupancy")
+@Label("Buffer Occupancy")
+@Category({"Build Challenge", "Producer-Consumer"})
+@Description("Periodic snapshot of SharedBuffer size, weight and shed items")
+@Period("1 s")
+final class BufferOccupancyEvent extends jdk.jfr.Event {
+    private static final Set<SharedBuffer<?>> BUFFERS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    @Label("Buffer Id")
+    int bufferId;
+
+    @Label("Size")
+    int size;
+
+    @Label("Weight")
+    long weight;
+
+    @Label("Capacity")
+    long capacity;
+
+    @Label("Dropped")
+    long dropped;
+
+    /**
+     * Installs the periodic hook. SharedBuffer calls this once when it is loaded, ahead of any
+     * tracked buffer, because a hook added while a recording runs may not be sampled by it.
+     */
+    static void register() {
+        FlightRecorder.addPeriodicEvent(BufferOccupancyEvent.class, BufferOccupancyEvent::emit);
+    }
+
+    /**
+     * Includes the buffer in periodic snapshots until it is garbage collected.
+     */
+    static void track(SharedBuffer<?> buffer) {
+        BUFFERS.add(buffer);
+    }
+
+    private static void emit() {
+        List<SharedBuffer<?>> snapshot;
+        synchronized (BUFFERS) {
+            snapshot = new ArrayList<>(BUFFERS);
+        }
+        for (SharedBuffer<?> buffer : snapshot) {
+            BufferOccupancyEvent event = new BufferOccupancyEvent();
+            event.bufferId = System.identityHashCode(buffer);
+            buffer.snapshot(event);   // One lock acquisition, so the fields agree
+            event.commit();
+        }
+    }
+}
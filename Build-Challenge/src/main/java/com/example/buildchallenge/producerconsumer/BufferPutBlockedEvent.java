@@ -0,0 +1,26 @@
+package com.example.buildchallenge.producerconsumer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event: a producer waited in SharedBuffer.put because the buffer was full.
+ */
+@Name("com.example.buildchallenge.BufferPutBlocked")
+@Label("Buffer Put Blocked")
+@Category({"Build Challenge", "Producer-Consumer"})
+@Description("Producer waited for space in a full SharedBuffer")
+@Threshold("10 ms")
+final class BufferPutBlockedEvent extends jdk.jfr.Event {
+    @Label("Buffer Id")
+    int bufferId;
+
+    @Label("Capacity")
+    long capacity;
+
+    @Label("Accepted")
+    boolean accepted;
+}
@@ -0,0 +1,23 @@
+package com.example.buildchallenge.producerconsumer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event: a consumer waited in SharedBuffer.take or poll because the buffer was empty.
+ */
+@Name("com.example.buildchallenge.BufferTakeBlocked")
+@Label("Buffer Take Blocked")
+@Category({"Build Challenge", "Producer-Consumer"})
+@Description("Consumer waited for an item in an empty SharedBuffer")
+@Threshold("10 ms")
+final class BufferTakeBlockedEvent extends jdk.jfr.Event {
+    @Label("Buffer Id")
+    int bufferId;
+
+    @Label("Got Item")
+    boolean gotItem;
+}
@@ -0,0 +1,70 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink that lets several consumers share one destination without a lock per item.
+ * Each thread appends to its own thread-local chunk, and a full chunk is copied into the
+ * destination under a single lock. Each consumer must call {@link #flush()} before exiting,
+ * and the destination should only be read once all consumers have finished.
+ */
+public class ChunkedSink<T> implements Sink<T> {
+    private final Collection<? super T> destination;
+    private final int chunkSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ThreadLocal<List<T>> chunk;
+    private long flushes;
+
+    public ChunkedSink(Collection<? super T> destination, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.destination = destination;
+        this.chunkSize = chunkSize;
+        this.chunk = ThreadLocal.withInitial(() -> new ArrayList<>(chunkSize));
+    }
+
+    @Override
+    public void accept(T item) {
+        List<T> local = chunk.get();
+        local.add(item);
+        if (local.size() >= chunkSize) {
+            publish(local);
+        }
+    }
+
+    @Override
+    public void flush() {
+        List<T> local = chunk.get();
+        if (!local.isEmpty()) {
+            publish(local);
+        }
+        chunk.remove();
+    }
+
+    private void publish(List<T> local) {
+        lock.lock();
+        try {
+            destination.addAll(local);
+            flushes++;
+        } finally {
+            lock.unlock();
+        }
+        local.clear();
+    }
+
+    /**
+     * Number of chunks copied into the destination so far.
+     */
+    public long flushCount() {
+        lock.lock();
+        try {
+            return flushes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts buffer items to and from bytes for buffers that store them outside the heap.
+ */
+public interface Codec<T> {
+    byte[] encode(T item);
+
+    T decode(byte[] bytes);
+
+    /**
+     * UTF-8 codec for String items.
+     */
+    static Codec<String> utf8() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(String item) {
+                return item.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Pass-through codec for raw byte[] items.
+     */
+    static Codec<byte[]> bytes() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(byte[] item) {
+                return item;
+            }
+
+            @Override
+            public byte[] decode(byte[] bytes) {
+                return bytes;
+            }
+        };
+    }
+}
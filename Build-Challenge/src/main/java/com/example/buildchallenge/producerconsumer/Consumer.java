@@ -5,13 +5,24 @@ import java.util.List;
  * Consumer thread that retrieves items from shared buffer.
  */
 public class Consumer implements Runnable {
-    private final SharedBuffer<String> buffer;
-    private final List<String> destination;
+    private final HandoffBuffer<String> buffer;
+    private final Sink<String> sink;
     private final int delayMs;
     
-    public Consumer(SharedBuffer<String> buffer, List<String> destination, int delayMs) {
+    /**
+     * Adds items straight to destination; only safe when this is the list's sole consumer.
+     */
+    public Consumer(HandoffBuffer<String> buffer, List<String> destination, int delayMs) {
+        this(buffer, destination::add, delayMs);
+    }
+
+    /**
+     * Hands items to sink, flushing it when the consumer exits. Use a ChunkedSink to share
+     * one destination between several consumers.
+     */
+    public Consumer(HandoffBuffer<String> buffer, Sink<String> sink, int delayMs) {
         this.buffer = buffer;
-        this.destination = destination;
+        this.sink = sink;
         this.delayMs = delayMs;
     }
     
@@ -23,13 +34,15 @@ public class Consumer implements Runnable {
                 if (item == null && buffer.isDone()) {
                     break;
                 }
-                destination.add(item);
+                sink.accept(item);
                 String capitalized = item.substring(0, 1).toUpperCase() + item.substring(1);
                 System.out.println("Consumed: " + capitalized);
                 Thread.sleep(delayMs);
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+        } finally {
+            sink.flush();
         }
     }
 }
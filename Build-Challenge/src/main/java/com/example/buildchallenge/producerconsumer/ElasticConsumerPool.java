@@ -0,0 +1,193 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of consumer threads that grows and shrinks with the buffer backlog.
+ *
+ * A monitor samples the buffer occupancy every sampleIntervalMs; after SUSTAINED_SAMPLES
+ * consecutive samples at or above backlogThreshold it adds a consumer, up to maxConsumers.
+ * A consumer that finds nothing to take for idleCooldownMs retires, down to minConsumers.
+ * All consumers exit once the buffer is done and drained. An item whose handler throws a
+ * RuntimeException is counted in failedItems() and the consumer moves on to the next one.
+ */
+public class ElasticConsumerPool<T> {
+    static final int SUSTAINED_SAMPLES = 3;
+
+    private final HandoffBuffer<T> buffer;
+    private final ItemHandler<T> handler;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final int backlogThreshold;
+    private final long sampleIntervalMs;
+    private final long idleCooldownMs;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger retired = new AtomicInteger();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private Thread monitor;
+
+    public ElasticConsumerPool(HandoffBuffer<T> buffer, ItemHandler<T> handler, int minConsumers,
+                               int maxConsumers, int backlogThreshold, long sampleIntervalMs,
+                               long idleCooldownMs) {
+        if (minConsumers < 1 || maxConsumers < minConsumers) {
+            throw new IllegalArgumentException("Need 1 <= minConsumers <= maxConsumers, got "
+                    + minConsumers + ".." + maxConsumers);
+        }
+        if (backlogThreshold < 1 || sampleIntervalMs < 1 || idleCooldownMs < 1) {
+            throw new IllegalArgumentException("backlogThreshold, sampleIntervalMs and idleCooldownMs must be positive");
+        }
+        this.buffer = buffer;
+        this.handler = handler;
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+        this.backlogThreshold = backlogThreshold;
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.idleCooldownMs = idleCooldownMs;
+    }
+
+    /**
+     * Starts minConsumers consumers and the backlog monitor.
+     */
+    public synchronized void start() {
+        if (monitor != null) {
+            throw new IllegalStateException("Pool already started");
+        }
+        for (int i = 0; i < minConsumers; i++) {
+            active.incrementAndGet();
+            startConsumer();
+        }
+        peak.set(minConsumers);
+        monitor = new Thread(this::monitor, "elastic-pool-monitor");
+        monitor.setDaemon(true);
+        monitor.start();
+    }
+
+    private void monitor() {
+        int sustained = 0;
+        try {
+            while (terminated.getCount() > 0) {
+                Thread.sleep(sampleIntervalMs);
+                sustained = buffer.size() >= backlogThreshold ? sustained + 1 : 0;
+                if (sustained >= SUSTAINED_SAMPLES && tryGrow()) {
+                    sustained = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean tryGrow() {
+        while (true) {
+            int n = active.get();
+            if (n >= maxConsumers || buffer.isDone() && n == 0) {
+                return false;
+            }
+            if (active.compareAndSet(n, n + 1)) {
+                peak.accumulateAndGet(n + 1, Math::max);
+                startConsumer();
+                return true;
+            }
+        }
+    }
+
+    private boolean tryRetire() {
+        while (true) {
+            int n = active.get();
+            if (n <= minConsumers) {
+                return false;
+            }
+            if (active.compareAndSet(n, n - 1)) {
+                retired.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    private void startConsumer() {
+        Thread t = new Thread(this::consume, "elastic-consumer-" + started.incrementAndGet());
+        threads.add(t);
+        t.start();
+    }
+
+    private void consume() {
+        boolean retiredSelf = false;
+        try {
+            while (true) {
+                T item = buffer.poll(idleCooldownMs, TimeUnit.MILLISECONDS);
+                if (item != null) {
+                    try {
+                        handler.handle(item);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();   // One bad item must not take the consumer down
+                    }
+                } else if (buffer.isDone() && buffer.isEmpty()) {
+                    break;   // Done and drained; an item put just before setDone is polled first
+                } else if (tryRetire()) {
+                    retiredSelf = true;   // Idle for a whole cooldown and above the minimum
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            threads.remove(Thread.currentThread());
+            // tryRetire already took this consumer out of active
+            if (!retiredSelf && active.decrementAndGet() == 0) {
+                terminated.countDown();
+            }
+        }
+    }
+
+    /**
+     * Waits until every consumer has exited after the buffer was done and drained.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Interrupts the monitor and all running consumers.
+     */
+    public void shutdownNow() {
+        if (monitor != null) {
+            monitor.interrupt();
+        }
+        threads.forEach(Thread::interrupt);
+    }
+
+    public int currentConsumers() {
+        return active.get();
+    }
+
+    public int peakConsumers() {
+        return peak.get();
+    }
+
+    /**
+     * Consumers started so far, including the initial minConsumers.
+     */
+    public int startedConsumers() {
+        return started.get();
+    }
+
+    public int retiredConsumers() {
+        return retired.get();
+    }
+
+    /**
+     * Items whose handler threw a RuntimeException; the consumer skips them and carries on.
+     */
+    public long failedItems() {
+        return failed.get();
+    }
+}
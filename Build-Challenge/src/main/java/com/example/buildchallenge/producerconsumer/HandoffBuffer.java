@@ -0,0 +1,48 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer contract shared by Producer and Consumer: put/take with a done signal.
+ * take and poll return null once production is done and the buffer is drained.
+ */
+public interface HandoffBuffer<T> {
+
+    /**
+     * Adds an item, possibly blocking. Returns false if the buffer rejected it.
+     */
+    boolean put(T item) throws InterruptedException;
+
+    T take() throws InterruptedException;
+
+    /**
+     * Like take, but gives up after the timeout. Returns null on timeout or when done and empty.
+     */
+    T poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Moves up to maxItems available items into target without blocking. Returns the count moved.
+     */
+    default int drainTo(Collection<? super T> target, int maxItems) {
+        int n = 0;
+        try {
+            T item;
+            while (n < maxItems && (item = poll(0, TimeUnit.NANOSECONDS)) != null) {
+                target.add(item);
+                n++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return n;
+    }
+
+    void setDone();
+
+    boolean isDone();
+
+    boolean isEmpty();
+
+    int size();
+}
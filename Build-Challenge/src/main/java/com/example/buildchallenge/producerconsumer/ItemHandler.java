@@ -0,0 +1,9 @@
+package com.example.buildchallenge.producerconsumer;
+
+/**
+ * Processes a single item taken from a buffer.
+ */
+@FunctionalInterface
+public interface ItemHandler<T> {
+    void handle(T item) throws InterruptedException;
+}
@@ -0,0 +1,325 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Durable buffer backed by memory-mapped segment files, so buffered items survive a JVM crash.
+ *
+ * Each put appends a record (int length + 1, payload) to the current segment, so a zero header
+ * marks unwritten space even for empty payloads. A full segment is
+ * closed with a -1 marker and the next one is created. Each take advances a read position that
+ * is stored in a small memory-mapped commit file as one word packing the segment id and offset,
+ * so a crash can never pair a new segment with a stale offset. Segments behind the read position
+ * are deleted. Java cannot unmap a file explicitly; its mapping goes away when garbage collected,
+ * and on Windows a mapped file cannot be deleted until then. Reclaiming is therefore best effort:
+ * a segment that cannot be deleted yet is retried at later segment switches and on close, and any
+ * left over are removed by the next recovery.
+ * On restart the buffer resumes from the committed read position. Data and commit pages are
+ * forced to disk every syncEvery puts, or on {@link #sync()} and {@link #close()}.
+ * The journal is bounded only by disk space, so put never blocks.
+ */
+public class JournalBuffer<T> implements HandoffBuffer<T>, AutoCloseable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int END_OF_SEGMENT = -1;
+    private static final int HEADER = Integer.BYTES;
+
+    private final Path dir;
+    private final Codec<T> codec;
+    private final int segmentSize;
+    private final int syncEvery;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final MappedByteBuffer commit;
+    private volatile boolean done = false;
+
+    private long writeSegment;
+    private MappedByteBuffer writeMap;
+    private int writePos;
+    private int syncedPos;
+    private long readSegment;
+    private MappedByteBuffer readMap;
+    private int readPos;
+    private int count;
+    private int unsynced;
+    private final List<Long> consumed = new ArrayList<>();   // Fully read segments not yet deleted
+
+    /**
+     * Opens (or creates) a journal in dir with 64 MiB segments, forcing to disk every 65536 puts.
+     */
+    public JournalBuffer(Path dir, Codec<T> codec) throws IOException {
+        this(dir, codec, 64 << 20, 65536);
+    }
+
+    public JournalBuffer(Path dir, Codec<T> codec, int segmentSize, int syncEvery) throws IOException {
+        if (segmentSize < 2 * HEADER) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("syncEvery must be positive: " + syncEvery);
+        }
+        this.dir = Files.createDirectories(dir);
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.syncEvery = syncEvery;
+        this.commit = map(dir.resolve("commit.dat"), Long.BYTES);
+        recover();
+    }
+
+    /**
+     * Restores the read position from the commit file and scans forward to find the write position.
+     */
+    private void recover() throws IOException {
+        List<Long> segments = listSegments();
+        if (segments.isEmpty()) {
+            segments.add(0L);
+        }
+        long committed = commit.getLong(0);
+        long committedSegment = committed >>> 32;
+        int committedPos = (int) committed;
+        if (committedSegment < segments.get(0)) {
+            committedSegment = segments.get(0);   // No commit yet, or it points at a reclaimed segment
+            committedPos = 0;
+        }
+        for (long id : segments) {
+            if (id < committedSegment) {
+                consumed.add(id);
+            }
+        }
+        reclaim();
+        readSegment = committedSegment;
+        readPos = committedPos;
+        readMap = map(segmentPath(readSegment), segmentSize);
+
+        long segment = readSegment;
+        MappedByteBuffer map = readMap;
+        int pos = readPos;
+        while (true) {
+            int header = map.getInt(pos);
+            if (header == END_OF_SEGMENT) {
+                segment++;
+                map = map(segmentPath(segment), segmentSize);
+                pos = 0;
+            } else if (header == 0) {
+                break;
+            } else {
+                pos += HEADER + header - 1;
+                count++;
+            }
+        }
+        writeSegment = segment;
+        writeMap = map;
+        writePos = pos;
+        syncedPos = pos;
+        persistReadPosition();
+    }
+
+    @Override
+    public boolean put(T item) throws InterruptedException {
+        byte[] bytes = codec.encode(item);
+        if (HEADER + bytes.length > segmentSize - HEADER) {
+            throw new IllegalArgumentException("Record of " + bytes.length + " bytes does not fit a segment");
+        }
+        lock.lockInterruptibly();
+        try {
+            if (writePos + HEADER + bytes.length > segmentSize - HEADER) {
+                roll();
+            }
+            writeMap.put(writePos + HEADER, bytes);
+            writeMap.putInt(writePos, bytes.length + 1);   // Header last: a torn write stays invisible
+            writePos += HEADER + bytes.length;
+            count++;
+            if (++unsynced >= syncEvery) {
+                force();
+            }
+            notEmpty.signal();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0 && !done) {
+                notEmpty.await();
+            }
+            return count == 0 ? null : readNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0 && !done) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return count == 0 ? null : readNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private T readNext() {
+        try {
+            int header = readMap.getInt(readPos);
+            if (header == END_OF_SEGMENT) {
+                long finished = readSegment;
+                readSegment++;
+                readMap = readSegment == writeSegment ? writeMap : map(segmentPath(readSegment), segmentSize);
+                readPos = 0;
+                header = readMap.getInt(readPos);
+                persistReadPosition();
+                consumed.add(finished);
+                reclaim();
+            }
+            byte[] bytes = new byte[header - 1];
+            readMap.get(readPos + HEADER, bytes);
+            readPos += HEADER + bytes.length;
+            count--;
+            persistReadPosition();
+            return codec.decode(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void roll() throws IOException {
+        writeMap.putInt(writePos, END_OF_SEGMENT);
+        writeMap.force(syncedPos, writePos + HEADER - syncedPos);
+        writeSegment++;
+        writeMap = map(segmentPath(writeSegment), segmentSize);
+        writePos = 0;
+        syncedPos = 0;
+    }
+
+    /**
+     * Deletes consumed segments, keeping any that cannot be deleted yet (still mapped on
+     * Windows) for a later attempt. Never throws, so a take cannot fail on housekeeping.
+     */
+    private void reclaim() {
+        consumed.removeIf(id -> {
+            try {
+                Files.deleteIfExists(segmentPath(id));
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+
+    private void persistReadPosition() {
+        commit.putLong(0, readSegment << 32 | readPos);   // A single aligned store cannot tear
+    }
+
+    /**
+     * Forces written records and the commit position to disk.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void force() {
+        writeMap.force(syncedPos, writePos - syncedPos);   // Only the pages written since the last sync
+        syncedPos = writePos;
+        commit.force();
+        unsynced = 0;
+    }
+
+    @Override
+    public void setDone() {
+        lock.lock();
+        try {
+            done = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything to disk and retries deleting consumed segments. Mappings are released
+     * when garbage collected.
+     */
+    @Override
+    public void close() {
+        sync();
+        lock.lock();
+        try {
+            reclaim();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                 .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                 .forEach(n -> ids.add(Long.parseLong(
+                         n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length()))));
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
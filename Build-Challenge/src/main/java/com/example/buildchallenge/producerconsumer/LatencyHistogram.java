@@ -0,0 +1,145 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram in the style of HdrHistogram: values are grouped into power-of-two
+ * ranges, each split into 2^(precisionBits-1) linear sub-buckets, so the recorded value is
+ * kept to a fixed relative error regardless of magnitude. Not thread-safe; give each
+ * recording thread its own instance and {@link #add} them together afterwards.
+ */
+public class LatencyHistogram {
+    private final int precisionBits;
+    private final int halfCount;
+    private final long highestTrackableValue;
+    private final long[] counts;
+    private long totalCount;
+    private long saturatedCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+
+    /**
+     * Tracks values up to one hour in nanoseconds with under 1% relative error.
+     */
+    public LatencyHistogram() {
+        this(3_600_000_000_000L, 8);
+    }
+
+    /**
+     * @param highestTrackableValue larger values are clamped to this and counted as saturated
+     * @param precisionBits         relative error is below 2^-(precisionBits-1); 2 to 20
+     */
+    public LatencyHistogram(long highestTrackableValue, int precisionBits) {
+        if (precisionBits < 2 || precisionBits > 20) {
+            throw new IllegalArgumentException("precisionBits must be between 2 and 20");
+        }
+        if (highestTrackableValue < 1) {
+            throw new IllegalArgumentException("highestTrackableValue must be positive");
+        }
+        this.precisionBits = precisionBits;
+        this.halfCount = 1 << (precisionBits - 1);
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new long[indexOf(highestTrackableValue) + 1];
+    }
+
+    private int indexOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - precisionBits);
+        return halfCount * shift + (int) (value >>> shift);
+    }
+
+    private long highestEquivalentValue(int index) {
+        if (index < 2 * halfCount) {
+            return index;
+        }
+        int shift = index / halfCount - 1;
+        long sub = index - (long) halfCount * shift;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Records one value; negative values are rejected.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+        if (value > highestTrackableValue) {
+            value = highestTrackableValue;
+            saturatedCount++;
+        }
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds every count from another histogram with the same configuration.
+     */
+    public void add(LatencyHistogram other) {
+        if (other.precisionBits != precisionBits || other.highestTrackableValue != highestTrackableValue) {
+            throw new IllegalArgumentException("Histogram configurations differ");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        saturatedCount += other.saturatedCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the smallest recorded value that at least the given percentage of samples do
+     * not exceed, rounded up to the end of its bucket and capped at {@link #max()}.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public long saturatedCount() {
+        return saturatedCount;
+    }
+
+    public long min() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        saturatedCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+}
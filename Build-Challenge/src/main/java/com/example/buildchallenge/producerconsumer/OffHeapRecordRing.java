@@ -0,0 +1,207 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap ring of fixed-size records for allocation-free handoff.
+ *
+ * Instead of passing objects, a producer claims a slot, writes primitive fields into it at
+ * offsets of its record layout and publishes it; a consumer obtains the next published slot,
+ * reads the fields in place and releases it. Sequences are plain longs, so the steady-state
+ * handoff path allocates nothing. Slot hand-over uses per-slot sequence numbers as in
+ * {@link SharedMemoryRingBuffer}, so several producers and consumers may share a ring.
+ *
+ * <pre>
+ * long seq = ring.claim();
+ * ring.putLong(seq, 0, timestamp);
+ * ring.putDouble(seq, 8, price);
+ * ring.publish(seq);
+ * </pre>
+ */
+public class OffHeapRecordRing {
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_HEADER = Long.BYTES;   // Slot sequence
+    /** Returned by {@link #next()} once production is done and every record has been taken. */
+    public static final long DONE = -1;
+
+    private final ByteBuffer slots;
+    private final int capacity;
+    private final int mask;
+    private final int recordSize;
+    private final int slotSize;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private volatile boolean done = false;
+
+    /**
+     * Creates a ring of capacity slots (a power of two) holding records of recordSize bytes.
+     */
+    public OffHeapRecordRing(int capacity, int recordSize) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two >= 2: " + capacity);
+        }
+        if (recordSize < 1) {
+            throw new IllegalArgumentException("recordSize must be positive: " + recordSize);
+        }
+        long bytes = (long) capacity * ((SLOT_HEADER + recordSize + 7) & ~7);
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ring too large: " + bytes + " bytes");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.recordSize = recordSize;
+        this.slotSize = (SLOT_HEADER + recordSize + 7) & ~7;
+        this.slots = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < capacity; i++) {
+            LONGS.setRelease(slots, i * slotSize, (long) i);
+        }
+    }
+
+    /**
+     * Claims the next free slot for writing, waiting while the ring is full.
+     */
+    public long claim() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            long seq = tryClaim();
+            if (seq >= 0) {
+                return seq;
+            }
+            Backoff.pause(attempt);
+        }
+    }
+
+    /**
+     * Claims the next free slot, or returns -1 if the ring is full.
+     */
+    public long tryClaim() {
+        long pos = tail.get();
+        while (true) {
+            long diff = (long) LONGS.getAcquire(slots, base(pos)) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    return pos;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Makes a claimed and filled slot visible to consumers.
+     */
+    public void publish(long seq) {
+        LONGS.setRelease(slots, base(seq), seq + 1);
+    }
+
+    /**
+     * Waits for the next published record and returns its sequence, or {@link #DONE}.
+     */
+    public long next() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            long seq = tryNext();
+            if (seq >= 0) {
+                return seq;
+            }
+            if (done) {
+                seq = tryNext();   // Records published just before done
+                return seq >= 0 ? seq : DONE;
+            }
+            Backoff.pause(attempt);
+        }
+    }
+
+    /**
+     * Returns the sequence of the next published record, or -1 if none is ready.
+     */
+    public long tryNext() {
+        long pos = head.get();
+        while (true) {
+            long diff = (long) LONGS.getAcquire(slots, base(pos)) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    return pos;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Returns a consumed slot to producers. Its fields must not be read afterwards.
+     */
+    public void release(long seq) {
+        LONGS.setRelease(slots, base(seq), seq + capacity);
+    }
+
+    public void putLong(long seq, int offset, long value) {
+        slots.putLong(field(seq, offset, Long.BYTES), value);
+    }
+
+    public long getLong(long seq, int offset) {
+        return slots.getLong(field(seq, offset, Long.BYTES));
+    }
+
+    public void putInt(long seq, int offset, int value) {
+        slots.putInt(field(seq, offset, Integer.BYTES), value);
+    }
+
+    public int getInt(long seq, int offset) {
+        return slots.getInt(field(seq, offset, Integer.BYTES));
+    }
+
+    public void putDouble(long seq, int offset, double value) {
+        slots.putDouble(field(seq, offset, Double.BYTES), value);
+    }
+
+    public double getDouble(long seq, int offset) {
+        return slots.getDouble(field(seq, offset, Double.BYTES));
+    }
+
+    public void setDone() {
+        done = true;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Approximate number of claimed but not yet taken records.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head.get()));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int recordSize() {
+        return recordSize;
+    }
+
+    private int base(long seq) {
+        return (int) (seq & mask) * slotSize;
+    }
+
+    private int field(long seq, int offset, int width) {
+        if (offset < 0 || offset + width > recordSize) {
+            throw new IndexOutOfBoundsException("Field [" + offset + ", " + (offset + width)
+                    + ") outside record of " + recordSize + " bytes");
+        }
+        return base(seq) + SLOT_HEADER + offset;
+    }
+}
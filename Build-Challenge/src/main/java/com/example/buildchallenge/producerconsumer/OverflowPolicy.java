@@ -0,0 +1,20 @@
+package com.example.buildchallenge.producerconsumer;
+
+/**
+ * What SharedBuffer.put does when the buffer is full.
+ */
+public enum OverflowPolicy {
+    /** Wait until space is available. */
+    BLOCK,
+    /** Wait up to the configured offer timeout, then reject the item. */
+    TIMED_OFFER,
+    /** Reject the incoming item immediately. */
+    DROP_NEWEST,
+    /** Evict the oldest buffered item to make room. */
+    DROP_OLDEST,
+    /**
+     * Keep only the latest item per key: an item whose key is already buffered replaces
+     * the older value in place; a new key on a full buffer evicts the oldest entry.
+     */
+    CONFLATE
+}
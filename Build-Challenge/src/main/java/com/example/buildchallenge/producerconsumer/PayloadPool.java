@@ -0,0 +1,69 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable payload holders, so the producer-to-consumer loop does not allocate.
+ *
+ * Producers borrow a holder, fill it and put it into the pipeline buffer; consumers release it
+ * after processing (see {@link RecyclingConsumer}). All holders are created up front. borrow
+ * blocks while every holder is in flight, which also bounds the number of items in flight.
+ * The free list is a HandoffBuffer chosen by {@link ProducerConsumerMain#newBuffer}, so a
+ * single borrower and single releaser get the allocation-free SpscBuffer.
+ */
+public class PayloadPool<T extends Recyclable> {
+    private final HandoffBuffer<T> free;
+    private final int size;
+
+    /**
+     * Creates size holders with factory. borrowers and releasers are the number of threads that
+     * will call borrow and release respectively.
+     */
+    public PayloadPool(int size, Supplier<? extends T> factory, int borrowers, int releasers) {
+        if (size < 1 || borrowers < 1 || releasers < 1) {
+            throw new IllegalArgumentException("size, borrowers and releasers must be positive");
+        }
+        this.size = size;
+        this.free = ProducerConsumerMain.newBuffer(size, releasers, borrowers);
+        for (int i = 0; i < size; i++) {
+            if (!offer(factory.get())) {
+                throw new IllegalStateException("Pool free list rejected initial holder");
+            }
+        }
+    }
+
+    private boolean offer(T holder) {
+        try {
+            return free.put(holder);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Takes a holder, waiting until one is released if the pool is exhausted.
+     */
+    public T borrow() throws InterruptedException {
+        return free.take();
+    }
+
+    /**
+     * Resets the holder and returns it to the pool.
+     */
+    public void release(T holder) throws InterruptedException {
+        holder.reset();
+        free.put(holder);
+    }
+
+    /**
+     * Holders currently in the pool (not borrowed).
+     */
+    public int available() {
+        return free.size();
+    }
+
+    public int size() {
+        return size;
+    }
+}
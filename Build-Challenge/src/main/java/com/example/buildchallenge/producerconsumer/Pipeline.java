@@ -0,0 +1,180 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Typed multi-stage pipeline built on HandoffBuffers, e.g. read, parse, enrich, aggregate:
+ *
+ * <pre>
+ * Pipeline.from(lines)
+ *         .stage("parse", SalesRecord::fromCsv, 4, 256)
+ *         .fuse(this::enrich)
+ *         .run(aggregator::add);
+ * </pre>
+ *
+ * Each stage runs on its own workers and reads from a bounded buffer filled by the stage
+ * before it (chosen by {@link ProducerConsumerMain#newBuffer}). When the last worker of a stage
+ * finishes, the next buffer is marked done, so completion flows from the source to the sink.
+ * {@link #fuse} appends a function to the current stage instead, running it on the same
+ * workers without a buffer hop. A function returning null drops the item. The sink is
+ * called from the last stage's workers, so it must be thread-safe if that stage is parallel.
+ */
+public final class Pipeline<T> {
+    private final Iterable<?> source;
+    private final List<Stage> stages;
+
+    private static final class Stage {
+        final String name;
+        final Function<Object, Object> fn;
+        final int parallelism;
+        final int capacity;
+
+        Stage(String name, Function<Object, Object> fn, int parallelism, int capacity) {
+            this.name = name;
+            this.fn = fn;
+            this.parallelism = parallelism;
+            this.capacity = capacity;
+        }
+    }
+
+    private Pipeline(Iterable<?> source, List<Stage> stages) {
+        this.source = source;
+        this.stages = Collections.unmodifiableList(stages);
+    }
+
+    /**
+     * Starts a pipeline whose items are read from source on a single thread.
+     */
+    public static <T> Pipeline<T> from(Iterable<? extends T> source) {
+        List<Stage> stages = new ArrayList<>();
+        stages.add(new Stage("source", Function.identity(), 1, 0));
+        return new Pipeline<>(source, stages);
+    }
+
+    /**
+     * Adds a stage applying fn on parallelism workers, fed through a buffer of capacity items.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Pipeline<R> stage(String name, Function<? super T, ? extends R> fn, int parallelism, int capacity) {
+        if (parallelism < 1 || capacity < 1) {
+            throw new IllegalArgumentException("parallelism and capacity must be positive");
+        }
+        List<Stage> next = new ArrayList<>(stages);
+        next.add(new Stage(name, (Function<Object, Object>) fn, parallelism, capacity));
+        return new Pipeline<>(source, next);
+    }
+
+    /**
+     * Fuses fn into the current stage: it runs right after that stage's function on the same
+     * worker, skipping a buffer hop. Use it for cheap steps that are not the bottleneck.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Pipeline<R> fuse(Function<? super T, ? extends R> fn) {
+        List<Stage> next = new ArrayList<>(stages);
+        Stage last = next.remove(next.size() - 1);
+        Function<Object, Object> after = (Function<Object, Object>) fn;
+        Function<Object, Object> fused = in -> {
+            Object out = last.fn.apply(in);
+            return out == null ? null : after.apply(out);
+        };
+        next.add(new Stage(last.name, fused, last.parallelism, last.capacity));
+        return new Pipeline<>(source, next);
+    }
+
+    /**
+     * Number of stages that run on their own workers, including the source.
+     */
+    public int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * Runs the pipeline on platform threads and waits for every item to reach the sink.
+     */
+    public void run(ItemHandler<? super T> sink) throws InterruptedException {
+        run(sink, ThreadMode.PLATFORM);
+    }
+
+    /**
+     * Runs the pipeline and waits for completion. A failing stage aborts the whole pipeline
+     * and its exception is rethrown wrapped in a CompletionException.
+     */
+    @SuppressWarnings("unchecked")
+    public void run(ItemHandler<? super T> sink, ThreadMode mode) throws InterruptedException {
+        int n = stages.size();
+        List<HandoffBuffer<Object>> buffers = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            buffers.add(ProducerConsumerMain.newBuffer(stages.get(i).capacity,
+                    stages.get(i - 1).parallelism, stages.get(i).parallelism));
+        }
+        ItemHandler<Object> finalSink = (ItemHandler<Object>) sink;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = mode.newExecutor();
+        try {
+            for (int i = 0; i < n; i++) {
+                Stage stage = stages.get(i);
+                HandoffBuffer<Object> in = i == 0 ? null : buffers.get(i - 1);
+                HandoffBuffer<Object> out = i == n - 1 ? null : buffers.get(i);
+                ItemHandler<Object> emit = out != null ? out::put : finalSink;
+                AtomicInteger remaining = new AtomicInteger(stage.parallelism);
+                for (int w = 0; w < stage.parallelism; w++) {
+                    executor.submit(() -> {
+                        try {
+                            if (in == null) {
+                                for (Object item : source) {
+                                    forward(stage, item, emit);
+                                }
+                            } else {
+                                Object item;
+                                while ((item = in.take()) != null) {
+                                    forward(stage, item, emit);
+                                }
+                            }
+                            if (remaining.decrementAndGet() == 0 && out != null) {
+                                out.setDone();   // Propagate completion downstream
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (RuntimeException | Error e) {
+                            if (failure.compareAndSet(null, e)) {
+                                executor.shutdownNow();   // Abort the other stages
+                            }
+                        }
+                    });
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            if (failure.get() == null) {
+                throw e;
+            }
+            // An early stage failure shut the executor down while stages were still being started
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+        if (failure.get() != null) {
+            throw new CompletionException("Pipeline stage failed", failure.get());
+        }
+    }
+
+    private static void forward(Stage stage, Object item, ItemHandler<Object> emit) throws InterruptedException {
+        Object out = stage.fn.apply(item);
+        if (out != null) {
+            emit.handle(out);
+        }
+    }
+}
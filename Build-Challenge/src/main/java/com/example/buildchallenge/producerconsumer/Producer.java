@@ -1,15 +1,18 @@
 package com.example.buildchallenge.producerconsumer;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 /**
  * Producer thread that places items from source list into shared buffer.
+ * Items the buffer rejects, for example under DROP_NEWEST, are reported and counted as dropped.
  */
 public class Producer implements Runnable {
-    private final SharedBuffer<String> buffer;
+    private final HandoffBuffer<String> buffer;
     private final List<String> source;
     private final int delayMs;
+    private final AtomicLong dropped = new AtomicLong();
     
-    public Producer(SharedBuffer<String> buffer, List<String> source, int delayMs) {
+    public Producer(HandoffBuffer<String> buffer, List<String> source, int delayMs) {
         this.buffer = buffer;
         this.source = source;
         this.delayMs = delayMs;
@@ -19,9 +22,14 @@ public class Producer implements Runnable {
     public void run() {
         try {
             for (String item : source) {
-                buffer.put(item);  // May block if buffer is full
+                boolean accepted = buffer.put(item);  // May block if buffer is full
                 String capitalized = item.substring(0, 1).toUpperCase() + item.substring(1);
-                System.out.println("Produced: " + capitalized);
+                if (accepted) {
+                    System.out.println("Produced: " + capitalized);
+                } else {
+                    dropped.incrementAndGet();
+                    System.out.println("Dropped: " + capitalized);
+                }
                 Thread.sleep(delayMs);
             }
             buffer.setDone();   // Signal production complete
@@ -29,5 +37,11 @@ public class Producer implements Runnable {
             Thread.currentThread().interrupt();
         }
     }
+    
+    /**
+     * Items the buffer rejected instead of accepting.
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
 }
-
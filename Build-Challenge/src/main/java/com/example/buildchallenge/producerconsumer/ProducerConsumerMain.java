@@ -2,20 +2,39 @@ package com.example.buildchallenge.producerconsumer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 /**
  * Main class for Producer-Consumer pattern demonstration.
+ * Pass "--virtual" to run on virtual threads (Java 21 build).
  */
 public class ProducerConsumerMain {
     public static void main(String[] args) throws Exception {
-        SharedBuffer<String> buffer = new SharedBuffer<>(5);
+        HandoffBuffer<String> buffer = newBuffer(5, 1, 1);
         List<String> src = List.of("apple","banana","Capsicum","Dates");
         List<String> dst = new ArrayList<>();
-        Thread p = new Thread(new Producer(buffer, src, 100));
-        Thread c = new Thread(new Consumer(buffer, dst, 150));
-        p.start(); 
-        c.start();
-        p.join();
-        c.join();
+        Sink<String> sink = new ChunkedSink<>(dst, 64);
+        ExecutorService executor = ThreadMode.fromArgs(args).newExecutor();
+        try {
+            Future<?> producer = executor.submit(new Producer(buffer, src, 100));
+            Future<?> consumer = executor.submit(new Consumer(buffer, sink, 150));
+            producer.get();   // Rethrows a task's failure as an ExecutionException
+            consumer.get();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
     }
-}
 
+    /**
+     * Picks the buffer for a topology: the lock-free SpscBuffer for one producer and one
+     * consumer, otherwise the general SharedBuffer.
+     */
+    public static <T> HandoffBuffer<T> newBuffer(int capacity, int producers, int consumers) {
+        if (producers == 1 && consumers == 1) {
+            return new SpscBuffer<>(capacity);
+        }
+        return new SharedBuffer<>(capacity);
+    }
+}
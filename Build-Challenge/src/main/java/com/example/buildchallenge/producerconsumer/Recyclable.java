@@ -0,0 +1,11 @@
+package com.example.buildchallenge.producerconsumer;
+
+/**
+ * A payload holder that can be cleared and reused through a PayloadPool.
+ */
+public interface Recyclable {
+    /**
+     * Clears the holder's contents before it goes back to the pool.
+     */
+    void reset();
+}
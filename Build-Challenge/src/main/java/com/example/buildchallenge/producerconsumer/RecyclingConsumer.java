@@ -0,0 +1,33 @@
+package com.example.buildchallenge.producerconsumer;
+
+/**
+ * Consumer thread that handles pooled payloads and returns each one to its PayloadPool.
+ * The handler must not keep a reference to the payload after it returns.
+ */
+public class RecyclingConsumer<T extends Recyclable> implements Runnable {
+    private final HandoffBuffer<T> buffer;
+    private final PayloadPool<T> pool;
+    private final ItemHandler<? super T> handler;
+
+    public RecyclingConsumer(HandoffBuffer<T> buffer, PayloadPool<T> pool, ItemHandler<? super T> handler) {
+        this.buffer = buffer;
+        this.pool = pool;
+        this.handler = handler;
+    }
+
+    @Override
+    public void run() {
+        try {
+            T item;
+            while ((item = buffer.take()) != null) {
+                try {
+                    handler.handle(item);
+                } finally {
+                    pool.release(item);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
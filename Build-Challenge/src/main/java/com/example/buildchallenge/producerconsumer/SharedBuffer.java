@@ -1,56 +1,529 @@
 package com.example.buildchallenge.producerconsumer;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 
 /**
- * Thread-safe bounded buffer using synchronized blocks and wait/notify.
+ * Thread-safe bounded buffer using a ReentrantLock with notFull/notEmpty conditions.
+ * Blocking on j.u.c locks (rather than synchronized/wait) lets virtual threads
+ * unmount from their carrier while waiting. What put does on a full buffer is
+ * governed by an {@link OverflowPolicy}; shed and merged items are counted.
+ * Capacity is either an item count or, with a {@link Weigher}, a weight budget
+ * such as bytes; an item heavier than the whole budget is only admitted alone. Items are
+ * weighed once, at insert, so a payload that changes while buffered cannot skew the total.
+ * Waits in put, take and poll are reported as JFR events, and buffers opted in with
+ * {@link #trackOccupancy()} are sampled by a periodic occupancy event; with JFR off these
+ * cost next to nothing.
+ * {@link #shutdown(long, TimeUnit, Collection)} stops intake and gives consumers a bounded
+ * time to drain before interrupting them.
  */
-public class SharedBuffer<T> {
+public class SharedBuffer<T> implements HandoffBuffer<T> {
+    static {
+        BufferOccupancyEvent.register();
+    }
+
     private final Queue<T> buffer;
-    private final int capacity;
+    private final Queue<Long> weights;          // Weighted only: each item's weight as measured at insert
+    private final Map<Object, T> latestByKey;   // Only used by CONFLATE
+    private final Function<? super T, ?> conflationKey;
+    private final long budget;
+    private final Weigher<? super T> weigher;   // Null means every item weighs 1
+    private final OverflowPolicy policy;
+    private final long offerTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();   // Shutdown callers waiting for empty
     private volatile boolean done = false;
+    private volatile boolean closed = false;
+    private long weight;
+    private long dropped;
+    private long conflated;
     
     public SharedBuffer(int capacity) {
-        this.capacity = capacity;
-        this.buffer = new LinkedList<>();
+        this(capacity, OverflowPolicy.BLOCK);
+    }
+    
+    /**
+     * Creates a buffer using BLOCK, DROP_NEWEST or DROP_OLDEST. TIMED_OFFER and CONFLATE
+     * need extra settings and have their own constructors.
+     */
+    public SharedBuffer(int capacity, OverflowPolicy policy) {
+        this(capacity, null, policy, 0, null);
+        requireSimplePolicy(policy);
+    }
+    
+    /**
+     * Creates a TIMED_OFFER buffer: put waits at most offerTimeout for space, then rejects.
+     */
+    public SharedBuffer(int capacity, long offerTimeout, TimeUnit unit) {
+        this(capacity, null, OverflowPolicy.TIMED_OFFER, unit.toNanos(offerTimeout), null);
     }
     
-    public synchronized void put(T item) throws InterruptedException {
-        while (buffer.size() >= capacity) {
-            wait();   // Wait if buffer full
+    /**
+     * Creates a CONFLATE buffer keeping only the latest item for each conflationKey value.
+     */
+    public SharedBuffer(int capacity, Function<? super T, ?> conflationKey) {
+        this(capacity, null, OverflowPolicy.CONFLATE, 0, conflationKey);
+        if (conflationKey == null) {
+            throw new IllegalArgumentException("conflationKey must not be null");
         }
-        buffer.offer(item);
-        notifyAll();   // Notify waiting consumers
     }
     
-    public synchronized T take() throws InterruptedException {
-        while (buffer.isEmpty() && !done) {
-            wait();  // Wait if buffer empty and production ongoing
+    /**
+     * Creates a blocking buffer whose put waits while the total item weight would exceed budget.
+     */
+    public static <T> SharedBuffer<T> weighted(long budget, Weigher<? super T> weigher) {
+        return weighted(budget, weigher, OverflowPolicy.BLOCK);
+    }
+    
+    /**
+     * Creates a weight-budgeted buffer using BLOCK, DROP_NEWEST or DROP_OLDEST.
+     */
+    public static <T> SharedBuffer<T> weighted(long budget, Weigher<? super T> weigher,
+                                               OverflowPolicy policy) {
+        if (weigher == null) {
+            throw new IllegalArgumentException("weigher must not be null");
         }
-        if (buffer.isEmpty() && done) {
-            return null;  // Signal end of consumption
+        requireSimplePolicy(policy);
+        return new SharedBuffer<>(budget, weigher, policy, 0, null);
+    }
+    
+    private SharedBuffer(long budget, Weigher<? super T> weigher, OverflowPolicy policy,
+                         long offerTimeoutNanos, Function<? super T, ?> conflationKey) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + budget);
+        }
+        this.budget = budget;
+        this.weigher = weigher;
+        this.policy = policy;
+        this.offerTimeoutNanos = offerTimeoutNanos;
+        this.conflationKey = conflationKey;
+        this.buffer = new ArrayDeque<>();   // No per-item node allocation
+        this.weights = weigher != null ? new ArrayDeque<>() : null;
+        this.latestByKey = policy == OverflowPolicy.CONFLATE ? new LinkedHashMap<>() : null;
+    }
+    
+    private static void requireSimplePolicy(OverflowPolicy policy) {
+        if (policy == OverflowPolicy.TIMED_OFFER || policy == OverflowPolicy.CONFLATE) {
+            throw new IllegalArgumentException(policy + " needs its dedicated constructor");
+        }
+    }
+    
+    /**
+     * Adds an item, applying the overflow policy if the buffer is full.
+     * Returns false if the item was rejected (DROP_NEWEST, TIMED_OFFER timing out, or shutdown).
+     */
+    @Override
+    public boolean put(T item) throws InterruptedException {
+        return insert(item, policy == OverflowPolicy.TIMED_OFFER, offerTimeoutNanos, true);
+    }
+    
+    /**
+     * Like put, but a BLOCK or TIMED_OFFER buffer waits at most timeout for room; other
+     * policies never wait. Returns false on timeout or after shutdown. A timed-out offer is
+     * not counted as dropped, since the caller still holds the item.
+     */
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        return insert(item, true, unit.toNanos(timeout), false);
+    }
+    
+    private boolean insert(T item, boolean timed, long nanos, boolean countTimeout)
+            throws InterruptedException {
+        long w = weigh(item);
+        lock.lockInterruptibly();
+        try {
+            if (closed) {
+                return false;
+            }
+            switch (policy) {
+                case BLOCK:
+                case TIMED_OFFER:
+                    if (!hasRoomFor(w) && !awaitRoom(w, timed, nanos)) {
+                        if (countTimeout && !closed) {
+                            dropped++;
+                        }
+                        return false;
+                    }
+                    break;
+                case DROP_NEWEST:
+                    if (!hasRoomFor(w)) {
+                        dropped++;
+                        return false;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!hasRoomFor(w)) {
+                        dequeue();
+                        dropped++;
+                    }
+                    break;
+                case CONFLATE:
+                    Object key = conflationKey.apply(item);
+                    if (latestByKey.containsKey(key)) {
+                        latestByKey.put(key, item);   // Keeps the original queue position
+                        conflated++;
+                        return true;
+                    }
+                    while (!hasRoomFor(w)) {
+                        dequeue();
+                        dropped++;
+                    }
+                    latestByKey.put(key, item);
+                    weight += w;
+                    notEmpty.signal();
+                    return true;
+                default:
+                    throw new IllegalStateException("Unknown policy: " + policy);
+            }
+            buffer.offer(item);
+            if (weights != null) {
+                weights.offer(w);
+            }
+            weight += w;
+            notEmpty.signal();   // Notify a waiting consumer
+            return true;
+        } finally {
+            lock.unlock();
         }
-        T item = buffer.poll();
-        notifyAll();   // Notify waiting producers
-        return item;
     }
     
-    public synchronized void setDone() {
-        this.done = true;
-        notifyAll();  // Wake up all waiting threads
+    @Override
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (count() == 0 && !done) {
+                awaitItem(false, 0);  // Wait if buffer empty and production ongoing
+            }
+            if (count() == 0 && done) {
+                return null;  // Signal end of consumption
+            }
+            T item = dequeue();
+            signalNotFull();   // Notify a waiting producer
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Like take, but gives up after the timeout. Returns null on timeout or when done and empty.
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (count() == 0 && !done && !awaitItem(true, unit.toNanos(timeout))) {
+                return null;  // Timed out
+            }
+            if (count() == 0) {
+                return null;
+            }
+            T item = dequeue();
+            signalNotFull();
+            return item;
+        } finally {
+            lock.unlock();
+        }
     }
     
+    /**
+     * Moves up to maxItems available items into target without blocking. Returns the count moved.
+     */
+    @Override
+    public int drainTo(Collection<? super T> target, int maxItems) {
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxItems && count() > 0) {
+                target.add(dequeue());
+                n++;
+            }
+            if (n > 0) {
+                notFull.signalAll();  // Several slots may have freed up
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void setDone() {
+        lock.lock();
+        try {
+            this.done = true;
+            notEmpty.signalAll();  // Wake up all waiting consumers
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
     public boolean isDone() {
         return done;
     }
     
-    public synchronized boolean isEmpty() {
-        return buffer.isEmpty();
+    /**
+     * Stops intake and marks the buffer done: blocked and later put/offer calls return false,
+     * while consumers keep taking what is left. Then waits up to drainTimeout for the buffer
+     * to empty. Returns true if it drained in time.
+     */
+    public boolean shutdown(long drainTimeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(drainTimeout);
+        lock.lockInterruptibly();
+        try {
+            close();
+            while (count() > 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = drained.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Stops intake like {@link #shutdown(long, TimeUnit)}, waits up to drainTimeout for the
+     * given consumer threads to finish, then interrupts any still running. Returns true if
+     * every consumer finished within the deadline.
+     */
+    public boolean shutdown(long drainTimeout, TimeUnit unit, Collection<? extends Thread> consumers)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(drainTimeout);
+        lock.lockInterruptibly();
+        try {
+            close();
+        } finally {
+            lock.unlock();
+        }
+        boolean finished = true;
+        for (Thread consumer : consumers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(consumer, remaining);
+            }
+            if (consumer.isAlive()) {
+                consumer.interrupt();
+                finished = false;
+            }
+        }
+        return finished;
+    }
+    
+    /**
+     * Includes this buffer in the periodic BufferOccupancy JFR event until it is garbage
+     * collected. Returns this buffer.
+     */
+    public SharedBuffer<T> trackOccupancy() {
+        BufferOccupancyEvent.track(this);
+        return this;
+    }
+
+    /**
+     * Fills the event's size, weight, capacity and dropped count from one consistent snapshot.
+     */
+    void snapshot(BufferOccupancyEvent event) {
+        lock.lock();
+        try {
+            event.size = count();
+            event.weight = weight;
+            event.capacity = budget;
+            event.dropped = dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isShutdown() {
+        return closed;
+    }
+    
+    private void close() {
+        closed = true;
+        done = true;
+        notFull.signalAll();    // Release blocked producers
+        notEmpty.signalAll();   // Consumers drain, then see done
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return count() == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Total weight of the buffered items; equal to size() for count-based buffers.
+     */
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Maximum item count, or the weight budget for weighted buffers.
+     */
+    public long capacity() {
+        return budget;
+    }
+    
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * Items shed by the overflow policy: rejected newest, evicted oldest or timed-out offers.
+     */
+    public long droppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Items that replaced an already-buffered item with the same key (CONFLATE only).
+     */
+    public long conflatedCount() {
+        lock.lock();
+        try {
+            return conflated;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Waits (holding the lock) until an item of weight w fits, or until nanos elapse if timed.
+     * Returns false on timeout or shutdown. The wait is reported as a BufferPutBlockedEvent.
+     */
+    private boolean awaitRoom(long w, boolean timed, long nanos) throws InterruptedException {
+        BufferPutBlockedEvent event = new BufferPutBlockedEvent();
+        event.begin();
+        boolean accepted = false;
+        try {
+            while (!closed && !hasRoomFor(w)) {
+                if (!timed) {
+                    notFull.await();
+                } else if (nanos > 0) {
+                    nanos = notFull.awaitNanos(nanos);
+                } else {
+                    return false;
+                }
+            }
+            accepted = !closed;
+            return accepted;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bufferId = System.identityHashCode(this);
+                event.capacity = budget;
+                event.accepted = accepted;
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Waits (holding the lock) until an item arrives or production is done, or until nanos
+     * elapse if timed. Returns false on timeout. The wait is reported as a BufferTakeBlockedEvent.
+     */
+    private boolean awaitItem(boolean timed, long nanos) throws InterruptedException {
+        BufferTakeBlockedEvent event = new BufferTakeBlockedEvent();
+        event.begin();
+        try {
+            while (count() == 0 && !done) {
+                if (!timed) {
+                    notEmpty.await();
+                } else if (nanos > 0) {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bufferId = System.identityHashCode(this);
+                event.gotItem = count() > 0;
+                event.commit();
+            }
+        }
+    }
+    
+    private long weigh(T item) {
+        if (weigher == null) {
+            return 1;
+        }
+        long w = weigher.weigh(item);
+        if (w < 0) {
+            throw new IllegalArgumentException("Negative weight " + w + " for " + item);
+        }
+        return w;
     }
     
-    public synchronized int size() {
-        return buffer.size();
+    private boolean hasRoomFor(long w) {
+        return count() == 0 || weight + w <= budget;
+    }
+    
+    private void signalNotFull() {
+        if (weigher == null) {
+            notFull.signal();
+        } else {
+            notFull.signalAll();   // A smaller waiting item may fit where a larger one does not
+        }
+    }
+    
+    private int count() {
+        return latestByKey != null ? latestByKey.size() : buffer.size();
+    }
+    
+    private T dequeue() {
+        T item;
+        if (latestByKey == null) {
+            item = buffer.poll();
+        } else {
+            Iterator<T> it = latestByKey.values().iterator();
+            item = it.next();
+            it.remove();
+        }
+        weight -= weights != null ? weights.poll() : 1;   // Never re-weigh: the item may have changed
+        if (closed && count() == 0) {
+            drained.signalAll();   // Every shutdown caller, not just one, sees the buffer empty
+        }
+        return item;
     }
 }
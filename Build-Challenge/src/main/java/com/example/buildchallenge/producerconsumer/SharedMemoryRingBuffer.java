@@ -0,0 +1,251 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ring buffer living in a memory-mapped file (normally under /dev/shm), so producer and
+ * consumer processes on the same host can hand off items without sockets or system calls.
+ *
+ * Slots carry a sequence number (Vyukov's bounded queue): a producer claims a position by CAS on
+ * the tail counter, writes the payload and publishes it with a release store of the slot
+ * sequence; a consumer acquires the sequence, copies the payload and frees the slot for the next
+ * lap. Any number of producers and consumers, in any process, may share one ring. Blocking calls
+ * spin briefly, then back off with parkNanos, as there is no cross-process wake-up.
+ */
+public class SharedMemoryRingBuffer<T> implements HandoffBuffer<T>, AutoCloseable {
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private static final int MAGIC = 0x52494E47;   // "RING"
+    // Header fields, each counter on its own cache line
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SLOTS_OFFSET = 4;
+    private static final int SLOT_SIZE_OFFSET = 8;
+    private static final int TAIL_OFFSET = 64;
+    private static final int HEAD_OFFSET = 128;
+    private static final int DONE_OFFSET = 192;
+    private static final int HEADER_SIZE = 256;
+    // Per-slot layout: long sequence, int length, payload
+    private static final int SLOT_HEADER = Long.BYTES + Integer.BYTES;
+
+    private final MappedByteBuffer map;
+    private final Codec<T> codec;
+    private final int slots;
+    private final int mask;
+    private final int slotSize;
+
+    private SharedMemoryRingBuffer(MappedByteBuffer map, Codec<T> codec) {
+        this.map = map;
+        this.codec = codec;
+        this.slots = map.getInt(SLOTS_OFFSET);
+        this.mask = slots - 1;
+        this.slotSize = map.getInt(SLOT_SIZE_OFFSET);
+    }
+
+    /**
+     * Creates (or resets) a ring at file with the given number of slots (a power of two),
+     * each able to hold a payload of up to maxItemBytes.
+     */
+    public static <T> SharedMemoryRingBuffer<T> create(Path file, int slots, int maxItemBytes, Codec<T> codec)
+            throws IOException {
+        if (slots < 2 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots must be a power of two >= 2: " + slots);
+        }
+        if (maxItemBytes < 0) {
+            throw new IllegalArgumentException("maxItemBytes must not be negative: " + maxItemBytes);
+        }
+        int slotSize = align8(SLOT_HEADER + maxItemBytes);
+        long size = HEADER_SIZE + (long) slots * slotSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ring too large: " + size + " bytes");
+        }
+        Files.deleteIfExists(file);
+        MappedByteBuffer map = map(file, (int) size);
+        map.putInt(SLOTS_OFFSET, slots);
+        map.putInt(SLOT_SIZE_OFFSET, slotSize);
+        for (int i = 0; i < slots; i++) {
+            LONGS.set(map, HEADER_SIZE + i * slotSize, (long) i);
+        }
+        INTS.setRelease(map, MAGIC_OFFSET, MAGIC);   // Publishes the initialised ring to openers
+        return new SharedMemoryRingBuffer<>(map, codec);
+    }
+
+    /**
+     * Attaches to a ring created by another process (or this one).
+     */
+    public static <T> SharedMemoryRingBuffer<T> open(Path file, Codec<T> codec) throws IOException {
+        int size = (int) Files.size(file);
+        MappedByteBuffer map = map(file, size);
+        if ((int) INTS.getAcquire(map, MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not an initialised ring buffer: " + file);
+        }
+        return new SharedMemoryRingBuffer<>(map, codec);
+    }
+
+    /**
+     * Location for a named ring: /dev/shm when available, otherwise the temp directory.
+     */
+    public static Path defaultPath(String name) {
+        Path shm = Path.of("/dev/shm");
+        return (Files.isDirectory(shm) ? shm : Path.of(System.getProperty("java.io.tmpdir"))).resolve(name);
+    }
+
+    /**
+     * Publishes an item if a slot is free. Returns false immediately when the ring is full.
+     */
+    public boolean offer(T item) {
+        byte[] bytes = codec.encode(item);
+        if (bytes.length > slotSize - SLOT_HEADER) {
+            throw new IllegalArgumentException("Item of " + bytes.length + " bytes exceeds slot payload "
+                    + (slotSize - SLOT_HEADER));
+        }
+        long pos = (long) LONGS.getVolatile(map, TAIL_OFFSET);
+        while (true) {
+            int slot = slotOffset(pos);
+            long seq = (long) LONGS.getAcquire(map, slot);
+            long diff = seq - pos;
+            if (diff == 0) {
+                if (LONGS.compareAndSet(map, TAIL_OFFSET, pos, pos + 1)) {
+                    map.putInt(slot + Long.BYTES, bytes.length);
+                    map.put(slot + SLOT_HEADER, bytes);
+                    LONGS.setRelease(map, slot, pos + 1);   // Publish to consumers
+                    return true;
+                }
+                pos = (long) LONGS.getVolatile(map, TAIL_OFFSET);
+            } else if (diff < 0) {
+                return false;   // Slot still holds an item from the previous lap
+            } else {
+                pos = (long) LONGS.getVolatile(map, TAIL_OFFSET);   // Another producer got there first
+            }
+        }
+    }
+
+    /**
+     * Removes an item if one is published. Returns null immediately when the ring is empty.
+     */
+    private T tryPoll() {
+        long pos = (long) LONGS.getVolatile(map, HEAD_OFFSET);
+        while (true) {
+            int slot = slotOffset(pos);
+            long seq = (long) LONGS.getAcquire(map, slot);
+            long diff = seq - (pos + 1);
+            if (diff == 0) {
+                if (LONGS.compareAndSet(map, HEAD_OFFSET, pos, pos + 1)) {
+                    byte[] bytes = new byte[map.getInt(slot + Long.BYTES)];
+                    map.get(slot + SLOT_HEADER, bytes);
+                    LONGS.setRelease(map, slot, pos + slots);   // Free the slot for the next lap
+                    return codec.decode(bytes);
+                }
+                pos = (long) LONGS.getVolatile(map, HEAD_OFFSET);
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = (long) LONGS.getVolatile(map, HEAD_OFFSET);
+            }
+        }
+    }
+
+    @Override
+    public boolean put(T item) throws InterruptedException {
+        for (int attempt = 0; !offer(item); attempt++) {
+            Backoff.pause(attempt);
+        }
+        return true;
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            T item = tryPoll();
+            if (item != null) {
+                return item;
+            }
+            if (isDone()) {
+                return tryPoll();   // Catch items published just before done
+            }
+            Backoff.pause(attempt);
+        }
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ; attempt++) {
+            T item = tryPoll();
+            if (item != null) {
+                return item;
+            }
+            if (isDone()) {
+                return tryPoll();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            Backoff.pause(attempt);
+        }
+    }
+
+    /**
+     * Marks production complete for every process attached to this ring.
+     */
+    @Override
+    public void setDone() {
+        LONGS.setRelease(map, DONE_OFFSET, 1L);
+    }
+
+    @Override
+    public boolean isDone() {
+        return (long) LONGS.getAcquire(map, DONE_OFFSET) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        long head = (long) LONGS.getAcquire(map, HEAD_OFFSET);
+        long tail = (long) LONGS.getAcquire(map, TAIL_OFFSET);
+        return (int) Math.max(0, Math.min(slots, tail - head));
+    }
+
+    public int capacity() {
+        return slots;
+    }
+
+    /**
+     * Flushes the mapping. It is released when garbage collected; the backing file is left in
+     * place for other processes and must be deleted by its owner.
+     */
+    @Override
+    public void close() {
+        map.force();
+    }
+
+    private int slotOffset(long pos) {
+        return HEADER_SIZE + (int) (pos & mask) * slotSize;
+    }
+
+    private static int align8(int n) {
+        return (n + 7) & ~7;
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
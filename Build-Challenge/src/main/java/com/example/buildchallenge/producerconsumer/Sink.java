@@ -0,0 +1,16 @@
+package com.example.buildchallenge.producerconsumer;
+
+/**
+ * Destination for items a consumer has taken from a buffer.
+ */
+@FunctionalInterface
+public interface Sink<T> {
+    void accept(T item);
+
+    /**
+     * Publishes anything the calling thread has buffered. Consumers call this once before
+     * they exit; the default does nothing.
+     */
+    default void flush() {
+    }
+}
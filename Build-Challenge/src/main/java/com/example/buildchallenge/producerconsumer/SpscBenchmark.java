@@ -0,0 +1,58 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures one-producer/one-consumer throughput of SharedBuffer against SpscBuffer.
+ * Usage: SpscBenchmark [items] [capacity] [rounds] (defaults 5000000 1024 5).
+ */
+public class SpscBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        report("SharedBuffer", () -> new SharedBuffer<>(capacity), items, rounds);
+        report("SpscBuffer", () -> new SpscBuffer<>(capacity), items, rounds);
+    }
+
+    private static void report(String name, Supplier<HandoffBuffer<Integer>> factory, int items, int rounds)
+            throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {   // First rounds double as warm-up; report the best
+            best = Math.min(best, run(factory.get(), items));
+        }
+        System.out.printf("%-12s items=%d best=%dms throughput=%.1f M items/s%n",
+                name, items, best / 1_000_000, items / (best / 1e9) / 1e6);
+    }
+
+    /**
+     * Pushes items through the buffer with one producer and one consumer thread; returns nanoseconds.
+     */
+    static long run(HandoffBuffer<Integer> buffer, int items) throws InterruptedException {
+        Integer token = 1;   // Same boxed instance every time, so allocation does not skew results
+        long[] received = new long[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                while (buffer.take() != null) {
+                    received[0]++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long start = System.nanoTime();
+        consumer.start();
+        for (int i = 0; i < items; i++) {
+            buffer.put(token);
+        }
+        buffer.setDone();
+        consumer.join();
+        long elapsed = System.nanoTime() - start;
+        if (received[0] != items) {
+            throw new IllegalStateException("Lost items: " + received[0]);
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock-free bounded buffer for exactly one producer thread and one consumer thread.
+ *
+ * Each side owns its index and publishes it with a release store (lazySet), which is cheaper
+ * than a volatile write. Each side also caches the other side's index and only re-reads it
+ * when the cached value says the buffer is full (producer) or empty (consumer), so in steady
+ * state the two threads rarely touch each other's cache lines.
+ * Using it with more than one producer or consumer thread corrupts it.
+ */
+public class SpscBuffer<T> implements HandoffBuffer<T> {
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscBuffer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscBuffer.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] items;
+    private final int mask;
+    private final int capacity;
+    // Padding keeps the producer and consumer fields on separate cache lines
+    long p01, p02, p03, p04, p05, p06, p07;
+    private volatile long tail;     // Next slot to write; written by the producer only
+    private long cachedHead;        // Producer's last view of head
+    long p11, p12, p13, p14, p15, p16, p17;
+    private volatile long head;     // Next slot to read; written by the consumer only
+    private long cachedTail;        // Consumer's last view of tail
+    long p21, p22, p23, p24, p25, p26, p27;
+    private volatile boolean done = false;
+
+    public SpscBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) {
+            slots <<= 1;
+        }
+        this.items = new Object[slots];
+        this.mask = slots - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the item if there is room. Returns false immediately when full.
+     */
+    public boolean offer(T item) {
+        long t = (long) TAIL.getOpaque(this);
+        if (t - cachedHead >= capacity) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (t - cachedHead >= capacity) {
+                return false;
+            }
+        }
+        items[(int) t & mask] = item;
+        TAIL.setRelease(this, t + 1);   // lazySet: publishes the slot write
+        return true;
+    }
+
+    /**
+     * Removes the oldest item, or returns null immediately when empty.
+     */
+    @SuppressWarnings("unchecked")
+    private T tryPoll() {
+        long h = (long) HEAD.getOpaque(this);
+        if (h >= cachedTail) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        int slot = (int) h & mask;
+        T item = (T) items[slot];
+        items[slot] = null;
+        HEAD.setRelease(this, h + 1);
+        return item;
+    }
+
+    @Override
+    public boolean put(T item) throws InterruptedException {
+        for (int attempt = 0; !offer(item); attempt++) {
+            Backoff.pause(attempt);
+        }
+        return true;
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            T item = tryPoll();
+            if (item != null) {
+                return item;
+            }
+            if (done) {
+                return tryPoll();   // Items published just before done
+            }
+            Backoff.pause(attempt);
+        }
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ; attempt++) {
+            T item = tryPoll();
+            if (item != null) {
+                return item;
+            }
+            if (done) {
+                return tryPoll();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            Backoff.pause(attempt);
+        }
+    }
+
+    @Override
+    public void setDone() {
+        done = true;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(capacity, t - h));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
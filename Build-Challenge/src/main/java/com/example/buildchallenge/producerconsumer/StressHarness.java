@@ -0,0 +1,207 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Drives a buffer with paced producers for a fixed duration and reports end-to-end handoff
+ * latency percentiles. Each payload carries the time it was scheduled to be sent, so a stalled
+ * put shows up as latency for every item queued behind it (no coordinated omission).
+ * Usage: StressHarness [buffer] [producers] [consumers] [ratePerProducer] [payloadBytes] [seconds] [capacity]
+ * (defaults shared 4 4 10000 64 10 1024). buffer is shared, spsc, journal or shm; a rate of 0
+ * sends as fast as the buffer accepts.
+ */
+public class StressHarness {
+    private static final VarHandle STAMP =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    public static void main(String[] args) throws Exception {
+        String type = args.length > 0 ? args[0] : "shared";
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int consumers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int rate = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+        int payloadBytes = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+        int seconds = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+        int capacity = args.length > 6 ? Integer.parseInt(args[6]) : 1024;
+
+        Path scratch = Files.createTempDirectory("stress-harness");
+        try {
+            HandoffBuffer<byte[]> buffer = newBuffer(type, capacity, producers, consumers, payloadBytes, scratch);
+            Result result;
+            try {
+                result = run(buffer, producers, consumers, rate, payloadBytes, TimeUnit.SECONDS.toNanos(seconds));
+            } finally {
+                if (buffer instanceof AutoCloseable) {
+                    ((AutoCloseable) buffer).close();
+                }
+            }
+            System.out.printf("buffer=%s producers=%d consumers=%d rate=%d/s per producer payload=%dB duration=%ds%n",
+                    type, producers, consumers, rate, payloadBytes, seconds);
+            System.out.println(result);
+        } finally {
+            deleteRecursively(scratch);
+        }
+    }
+
+    /**
+     * Creates one of the supported buffer types; file-backed buffers live under scratch.
+     */
+    static HandoffBuffer<byte[]> newBuffer(String type, int capacity, int producers, int consumers,
+                                           int payloadBytes, Path scratch) throws IOException {
+        switch (type) {
+            case "shared":
+                return new SharedBuffer<>(capacity);
+            case "spsc":
+                if (producers != 1 || consumers != 1) {
+                    throw new IllegalArgumentException("spsc needs exactly one producer and one consumer");
+                }
+                return new SpscBuffer<>(capacity);
+            case "journal":
+                return new JournalBuffer<>(scratch.resolve("journal"), Codec.bytes());
+            case "shm":
+                return SharedMemoryRingBuffer.create(scratch.resolve("ring"), capacity,
+                        payloadSize(payloadBytes), Codec.bytes());
+            default:
+                throw new IllegalArgumentException("Unknown buffer type: " + type);
+        }
+    }
+
+    private static int payloadSize(int payloadBytes) {
+        return Math.max(Long.BYTES, payloadBytes);
+    }
+
+    /**
+     * Runs producers for durationNanos, then drains the buffer and returns the merged latencies.
+     *
+     * @param ratePerProducer items per second per producer, or 0 for unthrottled
+     */
+    static Result run(HandoffBuffer<byte[]> buffer, int producers, int consumers, int ratePerProducer,
+                      int payloadBytes, long durationNanos) throws InterruptedException {
+        if (producers < 1 || consumers < 1) {
+            throw new IllegalArgumentException("producers and consumers must be positive");
+        }
+        if (ratePerProducer < 0 || durationNanos < 1) {
+            throw new IllegalArgumentException("rate must not be negative and duration must be positive");
+        }
+        int size = payloadSize(payloadBytes);
+        long interval = ratePerProducer > 0 ? 1_000_000_000L / ratePerProducer : 0;
+        LongAdder sent = new LongAdder();
+        LatencyHistogram[] histograms = new LatencyHistogram[consumers];
+        List<Thread> consumerThreads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histograms[c] = histogram;
+            consumerThreads.add(new Thread(() -> {
+                try {
+                    byte[] payload;
+                    while ((payload = buffer.take()) != null) {
+                        histogram.record(System.nanoTime() - (long) STAMP.get(payload, 0));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "stress-consumer-" + c));
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        List<Thread> producerThreads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            producerThreads.add(new Thread(() -> {
+                try {
+                    for (long next = start; ; next += interval) {
+                        if (interval > 0) {
+                            parkUntil(next);
+                        }
+                        long stamp = interval > 0 ? next : System.nanoTime();
+                        if (stamp - deadline >= 0) {
+                            break;
+                        }
+                        byte[] payload = new byte[size];
+                        STAMP.set(payload, 0, stamp);
+                        if (buffer.put(payload)) {
+                            sent.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "stress-producer-" + p));
+        }
+        consumerThreads.forEach(Thread::start);
+        producerThreads.forEach(Thread::start);
+        for (Thread t : producerThreads) {
+            t.join();
+        }
+        buffer.setDone();
+        for (Thread t : consumerThreads) {
+            t.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram h : histograms) {
+            merged.add(h);
+        }
+        return new Result(merged, sent.sum(), elapsed);
+    }
+
+    private static void parkUntil(long deadline) {
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    /**
+     * Outcome of one run: latencies in nanoseconds, items accepted by the buffer and wall time.
+     */
+    static final class Result {
+        final LatencyHistogram latency;
+        final long sent;
+        final long elapsedNanos;
+
+        Result(LatencyHistogram latency, long sent, long elapsedNanos) {
+            this.latency = latency;
+            this.sent = sent;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        long received() {
+            return latency.count();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "sent=%d received=%d throughput=%.0f items/s%nlatency us: min=%.1f",
+                    sent, received(), received() / (elapsedNanos / 1e9), latency.min() / 1e3));
+            for (double p : PERCENTILES) {
+                sb.append(String.format(" p%s=%.1f", p == (long) p ? Long.toString((long) p) : Double.toString(p),
+                        latency.valueAtPercentile(p) / 1e3));
+            }
+            sb.append(String.format(" max=%.1f mean=%.1f", latency.max() / 1e3, latency.mean() / 1e3));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Selects the kind of threads Producers and Consumers run on.
+ * VIRTUAL requires a build with the java21 profile (see pom.xml) on a Java 21+ runtime.
+ */
+public enum ThreadMode {
+    PLATFORM,
+    VIRTUAL;
+
+    private static final String VIRTUAL_SUPPORT =
+            "com.example.buildchallenge.producerconsumer.VirtualThreadSupport";
+
+    /**
+     * Returns VIRTUAL if "--virtual" is among the arguments, otherwise PLATFORM.
+     */
+    public static ThreadMode fromArgs(String[] args) {
+        if (args != null && Arrays.asList(args).contains("--virtual")) {
+            return VIRTUAL;
+        }
+        return PLATFORM;
+    }
+
+    /**
+     * Creates an executor that starts a new thread of this mode for every submitted task.
+     * Throws IllegalStateException if VIRTUAL is not available in this build or runtime.
+     */
+    public ExecutorService newExecutor() {
+        if (this == PLATFORM) {
+            return Executors.newCachedThreadPool();
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Supplier<ExecutorService> support = (Supplier<ExecutorService>)
+                    Class.forName(VIRTUAL_SUPPORT).getDeclaredConstructor().newInstance();
+            return support.get();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException(
+                    "Virtual threads need Java 21+ and a build with -Pjava21", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares platform and virtual threads with many I/O-bound producers feeding one SharedBuffer.
+ * Usage: ThreadModeBenchmark [producers] [itemsPerProducer] [ioDelayMs] [consumers]
+ * (defaults 10000 10 5 4).
+ */
+public class ThreadModeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int itemsPerProducer = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int ioDelayMs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int consumers = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        for (ThreadMode mode : ThreadMode.values()) {
+            try {
+                long nanos = run(mode, producers, itemsPerProducer, ioDelayMs, consumers);
+                long items = (long) producers * itemsPerProducer;
+                System.out.printf("%-8s producers=%d items=%d time=%dms throughput=%.0f items/s%n",
+                        mode, producers, items, TimeUnit.NANOSECONDS.toMillis(nanos),
+                        items / (nanos / 1e9));
+            } catch (IllegalStateException e) {
+                System.out.printf("%-8s skipped: %s%n", mode, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs one round and returns the elapsed wall-clock time in nanoseconds.
+     */
+    static long run(ThreadMode mode, int producers, int itemsPerProducer, int ioDelayMs, int consumers)
+            throws InterruptedException {
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(1024);
+        CountDownLatch produced = new CountDownLatch(producers);
+        LongAdder consumed = new LongAdder();
+        ExecutorService executor = mode.newExecutor();
+        long start = System.nanoTime();
+        try {
+            for (int c = 0; c < consumers; c++) {
+                executor.execute(() -> {
+                    try {
+                        while (buffer.take() != null) {
+                            consumed.increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            for (int p = 0; p < producers; p++) {
+                executor.execute(() -> {
+                    try {
+                        for (int i = 0; i < itemsPerProducer; i++) {
+                            Thread.sleep(ioDelayMs);   // Simulated upstream read
+                            buffer.put(i);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        produced.countDown();
+                    }
+                });
+            }
+            produced.await();
+            buffer.setDone();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (consumed.sum() != (long) producers * itemsPerProducer) {
+            throw new IllegalStateException("Lost items: " + consumed.sum());
+        }
+        return elapsed;
+    }
+}
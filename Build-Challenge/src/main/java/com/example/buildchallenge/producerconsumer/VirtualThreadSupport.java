@@ -0,0 +1,16 @@
+package com.example.buildchallenge.producerconsumer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Java 21 virtual-thread executor, compiled only by the java21 profile and loaded
+ * reflectively by {@link ThreadMode#VIRTUAL}.
+ */
+class VirtualThreadSupport implements Supplier<ExecutorService> {
+    @Override
+    public ExecutorService get() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.buildchallenge.producerconsumer;
+
+/**
+ * Computes the weight (typically the approximate size in bytes) of a buffered item.
+ * Must not return a negative value. Each item is weighed once, when it is put; the buffer
+ * keeps that weight until the item leaves, so later changes to the item do not affect it.
+ */
+@FunctionalInterface
+public interface Weigher<T> {
+    long weigh(T item);
+
+    /**
+     * Weighs every item as 1, so the budget becomes a plain item count.
+     */
+    static <T> Weigher<T> unit() {
+        return item -> 1;
+    }
+}
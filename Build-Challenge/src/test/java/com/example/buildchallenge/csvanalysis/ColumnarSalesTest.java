@@ -0,0 +1,131 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColumnarSalesTest {
+    private String sampleCsv;
+    private String largeCsv;
+
+    @BeforeEach
+    void setUp() {
+        sampleCsv = "date,region,salesperson,product,quantity,unitPrice\n" +
+                    "2024-01-05,North,Alice,Widget,10,9.99\n" +
+                    "2024-01-06,South,Bob,Gadget,5,19.99\n" +
+                    "2024-02-10,North,Alice,Widget,3,9.99\n" +
+                    "2024-02-11,East,Carol,Thing,7,14.50\n" +
+                    "2024-03-01,South,Bob,Gadget,2,19.99\n";
+
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder("date,region,salesperson,product,quantity,unitPrice\n");
+        for (int i = 0; i < 10_000; i++) {
+            sb.append(String.format("2023-%02d-%02d,Region%d,Seller%d,Product%d,%d,%d.%02d%n",
+                    random.nextInt(12) + 1, random.nextInt(28) + 1, random.nextInt(5),
+                    random.nextInt(20), random.nextInt(50), random.nextInt(30) + 1,
+                    random.nextInt(200), random.nextInt(100)));
+        }
+        largeCsv = sb.toString();
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMatchesStreamAnalysesOnSample() throws IOException {
+        List<SalesRecord> records = SalesAnalyzer.load(stream(sampleCsv));
+        ColumnarSales sales = ColumnarSales.load(stream(sampleCsv), Analysis.values());
+
+        assertEquals(5, sales.rowCount());
+        assertEquals(SalesAnalyzer.total(records), sales.total(), 1e-9);
+        assertEquals(SalesAnalyzer.byRegion(records).keySet(), sales.byRegion().keySet());
+        assertEquals(SalesAnalyzer.topNProductsByRevenue(records, 2).get(0).getKey(),
+                sales.topNProductsByRevenue(2).get(0).getKey());
+        assertEquals(SalesAnalyzer.monthlyTotals(records).keySet(), sales.monthlyTotals().keySet());
+    }
+
+    @Test
+    void testMatchesStreamAnalysesAcrossManyBatches() throws IOException {
+        List<SalesRecord> records = SalesAnalyzer.load(stream(largeCsv));
+        ColumnarSales sales = ColumnarSales.load(stream(largeCsv), EnumSet.allOf(Column.class), 1000);
+
+        assertEquals(10, sales.batches().size());
+        assertEquals(SalesAnalyzer.total(records), sales.total(), 1e-6);
+
+        Map<String, Double> expectedRegions = SalesAnalyzer.byRegion(records);
+        Map<String, Double> regions = sales.byRegion();
+        assertEquals(expectedRegions.keySet(), regions.keySet());
+        expectedRegions.forEach((k, v) -> assertEquals(v, regions.get(k), 1e-6, k));
+
+        List<Map.Entry<String, Double>> expectedTop = SalesAnalyzer.topNProductsByRevenue(records, 5);
+        List<Map.Entry<String, Double>> top = sales.topNProductsByRevenue(5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expectedTop.get(i).getKey(), top.get(i).getKey());
+            assertEquals(expectedTop.get(i).getValue(), top.get(i).getValue(), 1e-6);
+        }
+
+        Map<YearMonth, Double> expectedMonthly = SalesAnalyzer.monthlyTotals(records);
+        Map<YearMonth, Double> monthly = sales.monthlyTotals();
+        assertEquals(List.copyOf(expectedMonthly.keySet()), List.copyOf(monthly.keySet()));
+        expectedMonthly.forEach((k, v) -> assertEquals(v, monthly.get(k), 1e-6, k.toString()));
+    }
+
+    @Test
+    void testPartialLastBatch() throws IOException {
+        ColumnarSales sales = ColumnarSales.load(stream(sampleCsv), Analysis.columnsFor(Analysis.TOTAL), 2);
+        assertEquals(3, sales.batches().size());
+        assertEquals(1, sales.batches().get(2).size());
+        assertEquals(371.30, sales.total(), 0.01);
+    }
+
+    @Test
+    void testDefaultBatchSize() throws IOException {
+        ColumnarSales sales = ColumnarSales.load(stream(largeCsv), Analysis.TOTAL);
+        assertEquals(3, sales.batches().size());
+        assertEquals(ColumnBatch.DEFAULT_SIZE, sales.batches().get(0).capacity());
+    }
+
+    @Test
+    void testAnalysisNeedingUnloadedColumnRejected() throws IOException {
+        ColumnarSales sales = ColumnarSales.load(stream(sampleCsv), Analysis.TOTAL);
+        assertThrows(IllegalStateException.class, sales::byRegion);
+        assertThrows(IllegalStateException.class, sales::monthlyTotals);
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        ColumnarSales sales = ColumnarSales.load(stream("date,region,salesperson,product,quantity,unitPrice\n"),
+                Analysis.values());
+        assertEquals(0, sales.rowCount());
+        assertEquals(0.0, sales.total());
+        assertEquals(Map.of(), sales.byRegion());
+        assertEquals(List.of(), sales.topNProductsByRevenue(3));
+    }
+
+    @Test
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ColumnarSales.load(stream(sampleCsv), EnumSet.allOf(Column.class), 0));
+    }
+
+    @Test
+    void testVectorKernelUsedWhenModulePresent() {
+        // Only the vector profile compiles the kernel and adds the module to the test JVM
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assertTrue(ColumnarSales.isVectorized());
+    }
+}
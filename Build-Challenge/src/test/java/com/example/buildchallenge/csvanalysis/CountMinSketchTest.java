@@ -0,0 +1,68 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+    @Test
+    void testDimensionsFollowErrorBounds() {
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.01);
+        assertEquals(272, sketch.width());   // ceil(e / 0.01)
+        assertEquals(5, sketch.depth());     // ceil(ln 100)
+    }
+
+    @Test
+    void testEstimatesNeverUndercountAndStayWithinBound() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+        Map<String, Double> exact = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            String key = "product" + (int) Math.abs(random.nextGaussian() * 2000);
+            double weight = random.nextInt(100);
+            sketch.add(key, weight);
+            exact.merge(key, weight, Double::sum);
+        }
+        double bound = 0.001 * sketch.totalWeight();
+        int outside = 0;
+        for (Map.Entry<String, Double> e : exact.entrySet()) {
+            double estimate = sketch.estimate(e.getKey());
+            assertTrue(estimate >= e.getValue() - 1e-6, e.getKey());
+            if (estimate - e.getValue() > bound) {
+                outside++;
+            }
+        }
+        assertTrue(outside <= exact.size() * 0.01 + 1, "outside bound: " + outside);
+    }
+
+    @Test
+    void testMergeEqualsSingleSketch() {
+        CountMinSketch a = new CountMinSketch(0.01, 0.05);
+        CountMinSketch b = new CountMinSketch(0.01, 0.05);
+        CountMinSketch all = new CountMinSketch(0.01, 0.05);
+        for (int i = 0; i < 1000; i++) {
+            (i % 2 == 0 ? a : b).add("k" + i % 37, i);
+            all.add("k" + i % 37, i);
+        }
+        a.merge(b);
+        assertEquals(all.totalWeight(), a.totalWeight(), 1e-9);
+        for (int k = 0; k < 37; k++) {
+            assertEquals(all.estimate("k" + k), a.estimate("k" + k), 1e-9);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0.1, 0.1).add("a", -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(0.1, 0.1).merge(new CountMinSketch(0.01, 0.1)));
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.buildchallenge.csvanalysis;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -8,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
 class CsvAnalysisMainTest {
 
@@ -276,5 +281,23 @@ class CsvAnalysisMainTest {
             fail("Main should use forEach for monthly totals: " + e.getMessage());
         }
     }
-}
 
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testMainMethodWithDatasetDirectory(@TempDir Path dir) throws Exception {
+        Path day = dir.resolve("region=North").resolve("month=2024-03").resolve("2024-03-15.csv");
+        Files.createDirectories(day.getParent());
+        Files.writeString(day, "date,region,salesperson,product,quantity,unitPrice\n"
+                + "2024-03-15,North,Alice,Widget,2,5.00\n");
+
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true));
+        try {
+            CsvAnalysisMain.main(new String[]{dir.toString()});
+        } finally {
+            System.setOut(original);
+        }
+        assertTrue(captured.toString().contains("Total sales: 10.0"), captured.toString());
+    }
+}
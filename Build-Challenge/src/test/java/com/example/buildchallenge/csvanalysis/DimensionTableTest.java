@@ -0,0 +1,65 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class DimensionTableTest {
+
+    private static InputStream csv(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLoadAndLookUp() throws IOException {
+        DimensionTable table = DimensionTable.load(csv(
+                "\ncategory, product ,brand\nHardware,Widget,Acme\n\nElectronics, Gadget ,Acme\n"), "product");
+
+        assertEquals(2, table.size());
+        assertEquals(List.of("category", "brand"), table.attributes());
+        assertEquals("Electronics", table.get("Gadget", "category"));
+        assertEquals("Acme", table.get("Widget", "BRAND"));
+        assertNull(table.get("Thing", "category"));
+    }
+
+    @Test
+    void testAttributeValuesShareCodes() throws IOException {
+        DimensionTable table = DimensionTable.load(csv("region,manager\nNorth,Erin\nSouth,Frank\nWest,Frank\n"),
+                "region");
+        int a = table.attributeIndex("manager");
+        assertEquals(2, table.valueCount(a));
+        assertEquals(table.valueCode(a, table.row("South")), table.valueCode(a, table.row("West")));
+        byte[] line = "2024-01-05,West,Bob".getBytes(StandardCharsets.UTF_8);
+        assertEquals(table.row("West"), table.row(line, 11, 15));
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() throws IOException {
+        StringBuilder sb = new StringBuilder("product,category\n");
+        for (int i = 0; i < 1000; i++) {
+            sb.append('P').append(i).append(",C").append(i % 7).append('\n');
+        }
+        DimensionTable table = DimensionTable.load(csv(sb.toString()), "product");
+        assertEquals(1000, table.size());
+        assertEquals("C5", table.get("P999", "category"));
+    }
+
+    @Test
+    void testInvalidTables() {
+        assertThrows(IllegalArgumentException.class, () -> DimensionTable.load(csv("sku,category\n"), "product"));
+        assertThrows(IllegalArgumentException.class,
+                () -> DimensionTable.load(csv("product,category\nWidget,A\nWidget,B\n"), "product"));
+        assertThrows(IllegalArgumentException.class,
+                () -> DimensionTable.load(csv("product,category\nWidget\n"), "product"));
+        assertThrows(IllegalArgumentException.class, () -> DimensionTable.load(csv(""), "product"));
+        assertThrows(IllegalArgumentException.class,
+                () -> DimensionTable.load(csv("product,category\n"), "product").attributeIndex("brand"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.buildchallenge.csvanalysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEmptyAndSmallCardinalities() {
+        HyperLogLog hll = new HyperLogLog(12);
+        assertEquals(0, hll.estimate());
+        for (int i = 0; i < 10; i++) {
+            hll.add("person" + i);
+            hll.add("person" + i);   // Duplicates do not count
+        }
+        assertEquals(10, hll.estimate());
+    }
+
+    @Test
+    void testLargeCardinalityWithinError() {
+        HyperLogLog hll = new HyperLogLog(12);
+        int n = 500_000;
+        for (int i = 0; i < n; i++) {
+            hll.add("customer-" + i);
+        }
+        double error = Math.abs(hll.estimate() - n) / (double) n;
+        assertTrue(error < 3 * hll.relativeError(), "error " + error);
+    }
+
+    @Test
+    void testMergeEqualsUnion() {
+        HyperLogLog a = new HyperLogLog(10);
+        HyperLogLog b = new HyperLogLog(10);
+        HyperLogLog union = new HyperLogLog(10);
+        for (int i = 0; i < 20_000; i++) {
+            String v = "v" + i;
+            (i < 12_000 ? a : b).add(v);
+            if (i >= 8_000) {
+                b.add(v);   // Overlap between the two sides
+            }
+            union.add(v);
+        }
+        a.merge(b);
+        assertEquals(union.estimate(), a.estimate());
+    }
+
+    @Test
+    void testForErrorPicksPrecision() {
+        assertEquals(12, HyperLogLog.forError(0.0163).precision());
+        assertTrue(HyperLogLog.forError(0.01).relativeError() <= 0.01);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10).merge(new HyperLogLog(11)));
+    }
+}
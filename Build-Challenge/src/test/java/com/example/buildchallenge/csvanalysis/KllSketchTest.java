@@ -0,0 +1,88 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class KllSketchTest {
+
+    private static double rankError(double[] sorted, double estimate, double q) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return Math.abs(rank / (double) sorted.length - q);
+    }
+
+    @Test
+    void testEmptySketch() {
+        KllSketch sketch = new KllSketch();
+        assertEquals(0, sketch.count());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    @Test
+    void testSmallInputIsExact() {
+        KllSketch sketch = new KllSketch();
+        for (int v = 1; v <= 101; v++) {
+            sketch.add(v);
+        }
+        assertEquals(51, sketch.quantile(0.5));
+        assertEquals(1, sketch.quantile(0));
+        assertEquals(101, sketch.quantile(1));
+        assertEquals(91, sketch.quantile(0.9), 1);
+    }
+
+    @Test
+    void testLargeStreamWithinRankErrorAndBoundedMemory() {
+        KllSketch sketch = new KllSketch(200);
+        Random random = new Random(9);
+        int n = 1_000_000;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = Math.exp(random.nextGaussian());   // Skewed, like order values
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        for (double q : new double[]{0.01, 0.25, 0.5, 0.9, 0.99}) {
+            assertTrue(rankError(values, sketch.quantile(q), q) < 0.02, "q=" + q);
+        }
+        assertEquals(values[0], sketch.min());
+        assertEquals(values[n - 1], sketch.max());
+        assertTrue(sketch.retained() < 1000, "retained " + sketch.retained());
+    }
+
+    @Test
+    void testMergedSketchesMatchDistribution() {
+        KllSketch merged = new KllSketch();
+        double[] all = new double[400_000];
+        int idx = 0;
+        for (int part = 0; part < 4; part++) {
+            KllSketch sketch = new KllSketch();
+            for (int i = 0; i < 100_000; i++) {
+                double v = part * 100_000 + i;   // Disjoint ranges per partition
+                sketch.add(v);
+                all[idx++] = v;
+            }
+            merged.merge(sketch);
+        }
+        assertEquals(400_000, merged.count());
+        for (double q : new double[]{0.1, 0.5, 0.9}) {
+            assertTrue(rankError(all, merged.quantile(q), q) < 0.02, "q=" + q);
+        }
+        assertEquals(0, merged.min());
+        assertEquals(399_999, merged.max());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch(4));
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch().add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch().quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch(100).merge(new KllSketch(200)));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ProjectedCsvReaderTest {
+    private static final String WIDE_CSV =
+            "id,product,notes,unitPrice,region,salesperson,quantity,date,comment\n" +
+            "1,Widget,long free text here,9.99,North,Alice,10,2024-01-05,x\n" +
+            "2,Gadget,more text,19.99,South,Bob,5,2024-01-06,y\n";
+
+    private static List<SalesRecord> read(ProjectedCsvReader reader, String csv) throws IOException {
+        return reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testColumnsMappedByHeaderName() throws IOException {
+        List<SalesRecord> records = read(new ProjectedCsvReader(EnumSet.allOf(Column.class)), WIDE_CSV);
+
+        assertEquals(2, records.size());
+        SalesRecord first = records.get(0);
+        assertEquals(LocalDate.of(2024, 1, 5), first.getDate());
+        assertEquals("North", first.getRegion());
+        assertEquals("Alice", first.getSalesperson());
+        assertEquals("Widget", first.getProduct());
+        assertEquals(99.9, first.total(), 1e-9);
+    }
+
+    @Test
+    void testUnprojectedColumnsAreSkipped() throws IOException {
+        ProjectedCsvReader reader = new ProjectedCsvReader(Analysis.BY_REGION.columns());
+        List<SalesRecord> records = read(reader, WIDE_CSV);
+
+        SalesRecord first = records.get(0);
+        assertEquals("North", first.getRegion());
+        assertEquals(99.9, first.total(), 1e-9);
+        assertNull(first.getDate());
+        assertNull(first.getProduct());
+        assertNull(first.getSalesperson());
+        // Three of nine fields per line
+        assertEquals(6, reader.decodedFields());
+    }
+
+    @Test
+    void testHeaderMatchingIgnoresCaseAndSpaces() throws IOException {
+        String csv = " DATE , Region,SALESPERSON,Product, Quantity ,UNITPRICE\r\n" +
+                     "2024-01-05 , North ,Alice,Widget, 10 , 9.99 \r\n";
+        List<SalesRecord> records = read(new ProjectedCsvReader(EnumSet.allOf(Column.class)), csv);
+
+        assertEquals(1, records.size());
+        assertEquals("North", records.get(0).getRegion());
+        assertEquals(LocalDate.of(2024, 1, 5), records.get(0).getDate());
+        assertEquals(99.9, records.get(0).total(), 1e-9);
+    }
+
+    @Test
+    void testMissingProjectedColumnRejected() {
+        String csv = "date,region,quantity\n2024-01-05,North,10\n";
+        assertThrows(IllegalArgumentException.class,
+                () -> read(new ProjectedCsvReader(Analysis.TOTAL.columns()), csv));
+    }
+
+    @Test
+    void testMissingColumnOutsideProjectionAllowed() throws IOException {
+        String csv = "region,quantity,unitPrice\nNorth,2,1.5\n";
+        List<SalesRecord> records = read(new ProjectedCsvReader(Analysis.TOTAL.columns()), csv);
+        assertEquals(3.0, records.get(0).total(), 1e-9);
+    }
+
+    @Test
+    void testShortLineRejected() {
+        String csv = "date,region,salesperson,product,quantity,unitPrice\n2024-01-05,North,Alice\n";
+        assertThrows(IllegalArgumentException.class,
+                () -> read(new ProjectedCsvReader(EnumSet.allOf(Column.class)), csv));
+    }
+
+    @Test
+    void testMalformedNumbersRejectedLikeBefore() {
+        String csv = "quantity,unitPrice\nten,9.99\n";
+        assertThrows(NumberFormatException.class,
+                () -> read(new ProjectedCsvReader(Analysis.TOTAL.columns()), csv));
+    }
+
+    @Test
+    void testDatesResolveLikeSalesRecordFromCsv() throws IOException {
+        String[] rows = {"2024-02-30,North,Alice,Widget,1,1.0", "2023-02-29,North,Alice,Widget,1,1.0",
+                "2024-04-31,North,Alice,Widget,1,1.0", "2024-02-29,North,Alice,Widget,1,1.0"};
+        for (String row : rows) {
+            String csv = "date,region,salesperson,product,quantity,unitPrice\n" + row + "\n";
+            List<SalesRecord> loaded = SalesAnalyzer.load(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(SalesRecord.fromCsv(row).getDate(), loaded.get(0).getDate(), row);
+        }
+        assertEquals(LocalDate.of(2024, 2, 29),
+                read(new ProjectedCsvReader(EnumSet.of(Column.DATE)), "date\n2024-02-30\n").get(0).getDate());
+    }
+
+    @Test
+    void testInvalidDatesRejectedLikeSalesRecordFromCsv() {
+        for (String date : new String[]{"2024-13-01", "2024-02-32", "2024/02/01", "0000-01-01"}) {
+            assertThrows(DateTimeException.class, () -> SalesRecord.fromCsv(date + ",N,A,W,1,1.0"));
+            assertThrows(DateTimeException.class,
+                    () -> read(new ProjectedCsvReader(EnumSet.of(Column.DATE)), "date\n" + date + "\n"));
+        }
+    }
+
+    @Test
+    void testByteOrderMarkBeforeHeaderIsIgnored() throws IOException {
+        String csv = "\uFEFFdate,region,salesperson,product,quantity,unitPrice\r\n"
+                + "2024-03-01,North,Alice,Widget,2,1.5\r\n";
+        List<SalesRecord> records = SalesAnalyzer.load(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, records.size());
+        assertEquals(LocalDate.of(2024, 3, 1), records.get(0).getDate());
+        assertEquals(3.0, records.get(0).total(), 1e-9);
+    }
+
+    @Test
+    void testLinesSpanningReadBuffer() throws IOException {
+        StringBuilder csv = new StringBuilder("date,region,salesperson,product,quantity,unitPrice\n");
+        int rows = 20_000;
+        for (int i = 0; i < rows; i++) {
+            csv.append("2024-03-").append(String.format("%02d", i % 28 + 1))
+               .append(",Region").append(i % 7).append(",Seller,Product").append(i)
+               .append(',').append(i % 10).append(",1.25\n");
+        }
+        csv.append("2024-03-01,Last,Seller,Final,1,2.5");   // No trailing newline
+        List<SalesRecord> records = read(new ProjectedCsvReader(EnumSet.allOf(Column.class)), csv.toString());
+
+        assertEquals(rows + 1, records.size());
+        assertEquals("Product12345", records.get(12345).getProduct());
+        assertEquals("Final", records.get(rows).getProduct());
+    }
+
+    @Test
+    void testLineLongerThanReadBuffer() throws IOException {
+        String notes = "n".repeat(200_000);
+        String csv = "notes,quantity,unitPrice\n" + notes + ",3,2.0\n";
+        List<SalesRecord> records = read(new ProjectedCsvReader(Analysis.TOTAL.columns()), csv);
+        assertEquals(6.0, records.get(0).total(), 1e-9);
+    }
+
+    @Test
+    void testFastNumberParsingMatchesJdk() {
+        for (String s : new String[]{"9.99", "19.99", "14.50", "0.1", "-3.75", "+2", "1e3", "123456789.123456789", "7."}) {
+            byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(s), ProjectedCsvReader.parseDouble(b, 0, b.length), s);
+        }
+        for (String s : new String[]{"0", "42", "-17", "+5", "2147483647"}) {
+            byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Integer.parseInt(s), ProjectedCsvReader.parseInt(b, 0, b.length), s);
+        }
+    }
+
+    @Test
+    void testNonAsciiTextPreserved() throws IOException {
+        String csv = "region,quantity,unitPrice\nSüd,1,1.0\n東京,2,1.0\n";
+        List<SalesRecord> records = read(new ProjectedCsvReader(Analysis.BY_REGION.columns()), csv);
+        assertEquals("Süd", records.get(0).getRegion());
+        assertEquals("東京", records.get(1).getRegion());
+        assertTrue(records.stream().allMatch(r -> r.getDate() == null));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class RoaringBitmapTest {
+
+    private static BitSet toBitSet(RoaringBitmap bitmap) {
+        BitSet bits = new BitSet();
+        List<Integer> order = new ArrayList<>();
+        bitmap.forEach(v -> {
+            bits.set(v);
+            order.add(v);
+        });
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(order.get(i - 1) < order.get(i), "forEach must be ascending");
+        }
+        assertEquals(bits.cardinality(), bitmap.cardinality());
+        return bits;
+    }
+
+    /**
+     * Values spread over four chunks, with the given density so both container kinds occur.
+     */
+    private static BitSet randomSet(Random random, double density) {
+        BitSet bits = new BitSet();
+        for (int v = 0; v < 4 << 16; v++) {
+            if (random.nextDouble() < density) {
+                bits.set(v);
+            }
+        }
+        return bits;
+    }
+
+    private static RoaringBitmap fromBitSet(BitSet bits, boolean shuffled, Random random) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        List<Integer> values = new ArrayList<>();
+        bits.stream().forEach(values::add);
+        if (shuffled) {
+            java.util.Collections.shuffle(values, random);
+        }
+        values.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    @Test
+    void testAddContainsAndCardinality() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        assertTrue(bitmap.isEmpty());
+        bitmap.add(5);
+        bitmap.add(70_000);
+        bitmap.add(5);
+        bitmap.add(1);
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void testDenseChunkSwitchesToBitset() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int v = 0; v < 65_536; v += 2) {
+            bitmap.add(v);
+        }
+        assertEquals(32_768, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() < 9000, "size " + bitmap.sizeInBytes());
+        assertTrue(bitmap.contains(65_534));
+        assertFalse(bitmap.contains(65_535));
+    }
+
+    @Test
+    void testAndOrMatchBitSetAcrossContainerKinds() {
+        Random random = new Random(21);
+        double[] densities = {0.001, 0.03, 0.2, 0.9};
+        for (double da : densities) {
+            for (double db : densities) {
+                BitSet a = randomSet(random, da);
+                BitSet b = randomSet(random, db);
+                RoaringBitmap ra = fromBitSet(a, false, random);
+                RoaringBitmap rb = fromBitSet(b, true, random);
+                assertEquals(a, toBitSet(ra));
+                assertEquals(b, toBitSet(rb));
+
+                BitSet and = (BitSet) a.clone();
+                and.and(b);
+                BitSet or = (BitSet) a.clone();
+                or.or(b);
+                assertEquals(and, toBitSet(ra.and(rb)), "and " + da + " " + db);
+                assertEquals(or, toBitSet(ra.or(rb)), "or " + da + " " + db);
+                assertEquals(a, toBitSet(ra), "inputs must not change");
+            }
+        }
+    }
+
+    @Test
+    void testDisjointChunksAndUnion() {
+        RoaringBitmap low = new RoaringBitmap();
+        low.add(3);
+        RoaringBitmap high = new RoaringBitmap();
+        high.add(200_000);
+        assertTrue(low.and(high).isEmpty());
+        RoaringBitmap all = RoaringBitmap.union(low, high, new RoaringBitmap());
+        assertEquals(2, all.cardinality());
+        assertTrue(RoaringBitmap.union().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SalesAggregationTest {
+    private static final String CSV = "date,region,salesperson,product,quantity,unitPrice\n"
+            + "2024-01-05,North,Alice,Widget,10,9.99\n"
+            + "2024-01-06,South,Bob,Gadget,5,19.99\n"
+            + "2024-02-10,North,Alice,Widget,3,9.99\n"
+            + "2024-02-11,East,Carol,Thing,7,14.50\n"
+            + "2024-03-01,South,Bob,Gadget,2,19.99\n";
+
+    private DimensionTable products;
+    private DimensionTable regions;
+
+    private static InputStream csv() {
+        return new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        products = DimensionTable.load(new ByteArrayInputStream(
+                "product,category\nWidget,Hardware\nThing,Hardware\nGadget,Electronics\n".getBytes()), "product");
+        regions = DimensionTable.load(new ByteArrayInputStream(
+                "region,manager\nNorth,Erin\nSouth,Erin\n".getBytes()), "region");
+    }
+
+    private SalesAggregation withJoins() {
+        return new SalesAggregation()
+                .join(Column.PRODUCT, products, "category")
+                .join(Column.REGION, regions, "manager");
+    }
+
+    @Test
+    void testOneScanMatchesSeparateReportsAndJoins() throws IOException {
+        List<SalesRecord> records = SalesAnalyzer.load(csv());
+        SalesAggregation aggregation = withJoins().scan(csv());
+
+        assertEquals(SalesAnalyzer.total(records), aggregation.total(), 1e-9);
+        assertEquals(SalesAnalyzer.byRegion(records), aggregation.byRegion());
+        assertEquals(SalesAnalyzer.monthlyTotals(records), aggregation.monthlyTotals());
+        assertEquals(SalesAnalyzer.topNProductsByRevenue(records, 2), aggregation.topNProductsByRevenue(2));
+        assertEquals(SalesAnalyzer.revenueByAttribute(csv(), Column.PRODUCT, products, "category"),
+                aggregation.byAttribute("category"));
+        assertEquals(SalesAnalyzer.revenueByAttribute(csv(), Column.REGION, regions, "manager"),
+                aggregation.byAttribute("manager"));
+    }
+
+    @Test
+    void testRecordsInMemoryGiveTheSameResultsAsTheByteScan() throws IOException {
+        SalesAggregation scanned = withJoins().scan(csv());
+        SalesAggregation added = withJoins().addAll(SalesAnalyzer.load(csv()));
+
+        assertEquals(scanned.total(), added.total(), 1e-9);
+        assertEquals(scanned.byRegion(), added.byRegion());
+        assertEquals(scanned.monthlyTotals(), added.monthlyTotals());
+        assertEquals(scanned.byAttribute("category"), added.byAttribute("category"));
+        assertEquals(1, added.byAttribute("manager").size());   // East is not in the table
+        assertEquals(269.80, added.byAttribute("manager").get("Erin"), 0.01);
+    }
+
+    @Test
+    void testInvalidJoins() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesAggregation().join(Column.QUANTITY, regions, "manager"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesAggregation().join(Column.REGION, regions, "missing"));
+        assertThrows(IllegalArgumentException.class, () -> withJoins().byAttribute("brand"));
+
+        SalesAggregation started = new SalesAggregation().scan(csv());
+        assertThrows(IllegalStateException.class, () -> started.join(Column.REGION, regions, "manager"));
+    }
+}
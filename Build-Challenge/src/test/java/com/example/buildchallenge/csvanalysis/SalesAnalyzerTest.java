@@ -11,6 +11,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -292,5 +294,44 @@ class SalesAnalyzerTest {
         assertNotNull(records);
         assertFalse(records.isEmpty());
     }
-}
 
+    @Test
+    void testLoadWithAnalysesParsesOnlyNeededColumns() throws IOException {
+        InputStream is = new ByteArrayInputStream(sampleCsv.getBytes());
+        List<SalesRecord> records = SalesAnalyzer.load(is, Analysis.TOTAL, Analysis.BY_REGION);
+
+        assertEquals(5, records.size());
+        assertEquals(371.30, SalesAnalyzer.total(records), 0.01);
+        assertEquals(SalesAnalyzer.byRegion(testRecords), SalesAnalyzer.byRegion(records));
+        assertNull(records.get(0).getProduct());
+    }
+
+    @Test
+    void testRevenueByAttributeJoinsDuringScan() throws IOException {
+        DimensionTable products = DimensionTable.load(new ByteArrayInputStream(
+                "product,category\nWidget,Hardware\nThing,Hardware\nGadget,Electronics\n".getBytes()), "product");
+
+        Map<String, Double> byCategory = SalesAnalyzer.revenueByAttribute(
+                new ByteArrayInputStream(sampleCsv.getBytes()), Column.PRODUCT, products, "category");
+
+        assertEquals(2, byCategory.size());
+        assertEquals(231.37, byCategory.get("Hardware"), 0.01);
+        assertEquals(139.93, byCategory.get("Electronics"), 0.01);
+        assertEquals(byCategory, SalesAnalyzer.revenueByAttribute(testRecords, SalesRecord::getProduct,
+                products, "category"));
+    }
+
+    @Test
+    void testRevenueByAttributeLeavesOutUnmatchedKeys() throws IOException {
+        DimensionTable regions = DimensionTable.load(new ByteArrayInputStream(
+                "region,manager\nNorth,Erin\nSouth,Erin\n".getBytes()), "region");
+
+        Map<String, Double> byManager = SalesAnalyzer.revenueByAttribute(
+                new ByteArrayInputStream(sampleCsv.getBytes()), Column.REGION, regions, "manager");
+
+        assertEquals(1, byManager.size());
+        assertEquals(269.80, byManager.get("Erin"), 0.01);   // East is not in the table
+        assertThrows(IllegalArgumentException.class, () -> SalesAnalyzer.revenueByAttribute(
+                new ByteArrayInputStream(sampleCsv.getBytes()), Column.QUANTITY, regions, "manager"));
+    }
+}
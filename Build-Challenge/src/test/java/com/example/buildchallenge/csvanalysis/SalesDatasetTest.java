@@ -0,0 +1,157 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SalesDatasetTest {
+    private static final String HEADER = "date,region,salesperson,product,quantity,unitPrice\n";
+    private static final String[] REGIONS = {"North", "South"};
+
+    @TempDir
+    Path root;
+
+    private final List<SalesRecord> all = new ArrayList<>();
+
+    /**
+     * Two regions, two months, three daily files each with two sales.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        for (String region : REGIONS) {
+            for (int month = 3; month <= 4; month++) {
+                Path dir = root.resolve("region=" + region).resolve("month=2024-0" + month);
+                Files.createDirectories(dir);
+                for (int day = 1; day <= 3; day++) {
+                    LocalDate date = LocalDate.of(2024, month, day);
+                    StringBuilder csv = new StringBuilder(HEADER);
+                    for (int i = 0; i < 2; i++) {
+                        SalesRecord r = new SalesRecord(date, region, "S" + i, "P" + day, month + i, 2.5);
+                        all.add(r);
+                        csv.append(date).append(',').append(region).append(",S").append(i).append(",P")
+                                .append(day).append(',').append(month + i).append(",2.5\n");
+                    }
+                    Files.writeString(dir.resolve(date + ".csv"), csv);
+                }
+            }
+        }
+        Files.writeString(root.resolve("README.txt"), "not data");
+    }
+
+    @Test
+    void testPartitionKeysComeFromPaths() throws IOException {
+        SalesDataset dataset = SalesDataset.open(root);
+        assertEquals(12, dataset.partitions().size());
+        SalesDataset.Partition first = dataset.partitions().get(0);
+        assertEquals(Map.of("region", "North", "month", "2024-03"), first.keys());
+        assertEquals(LocalDate.of(2024, 3, 1), first.firstDate());
+        assertEquals(LocalDate.of(2024, 3, 1), first.lastDate());
+    }
+
+    @Test
+    void testLoadAllMatchesEveryFile() throws IOException {
+        SalesDataset dataset = SalesDataset.open(root, 4);
+        List<SalesRecord> loaded = dataset.load();
+        assertEquals(all.size(), loaded.size());
+        assertEquals(SalesAnalyzer.byRegion(all), SalesAnalyzer.byRegion(loaded));
+        assertEquals(SalesAnalyzer.monthlyTotals(all), SalesAnalyzer.monthlyTotals(loaded));
+        assertEquals(12, dataset.filesRead());
+        assertEquals(0, dataset.filesSkipped());
+    }
+
+    @Test
+    void testRegionAndDateFiltersPruneFiles() throws IOException {
+        SalesDataset dataset = SalesDataset.open(root, 2);
+        List<SalesRecord> loaded = dataset.load(SalesFile.Filter.ALL.regions("South")
+                .between(LocalDate.of(2024, 4, 2), null));
+
+        assertEquals(2, dataset.filesRead());
+        assertEquals(10, dataset.filesSkipped());
+        assertEquals(all.stream()
+                .filter(r -> r.getRegion().equals("South") && r.getDate().isAfter(LocalDate.of(2024, 4, 1)))
+                .map(SalesRecord::total).collect(Collectors.toList()),
+                loaded.stream().map(SalesRecord::total).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRowFiltersApplyWithinFilesThatCannotBePruned() throws IOException {
+        SalesDataset dataset = SalesDataset.open(root, 3);
+        List<SalesRecord> loaded = dataset.load(SalesFile.Filter.ALL.salespeople("S1"), Analysis.TOTAL);
+        assertEquals(12, dataset.filesRead());
+        assertEquals(12, loaded.size());
+        assertTrue(loaded.stream().allMatch(r -> "S1".equals(r.getSalesperson())));
+        assertNull(loaded.get(0).getProduct());   // Not needed by TOTAL or the filter
+    }
+
+    @Test
+    void testUnknownKeysNeverPrune() throws IOException {
+        Path odd = root.resolve("region=East").resolve("batch=7").resolve("extra.csv");
+        Files.createDirectories(odd.getParent());
+        Files.writeString(odd, HEADER + "2030-01-01,East,Zed,Q,1,1.0\n");
+        SalesDataset dataset = SalesDataset.open(root);
+
+        List<SalesRecord> loaded = dataset.load(SalesFile.Filter.ALL.between(LocalDate.of(2030, 1, 1), null));
+        assertEquals(1, loaded.size());
+        assertEquals(1, dataset.filesRead());
+    }
+
+    @Test
+    void testRegionAndDateColumnsMayComeFromThePath() throws IOException {
+        Path west = root.resolve("region=West").resolve("month=2024-05");
+        Files.createDirectories(west);
+        Files.writeString(west.resolve("2024-05-01.csv"), "salesperson,product,quantity,unitPrice\nS9,P9,2,5.0\n");
+        SalesDataset dataset = SalesDataset.open(root);
+
+        List<SalesRecord> loaded = dataset.load(SalesFile.Filter.ALL.regions("West"));
+        assertEquals(1, loaded.size());
+        assertEquals("West", loaded.get(0).getRegion());
+        assertEquals(LocalDate.of(2024, 5, 1), loaded.get(0).getDate());
+        assertEquals(10.0, SalesAnalyzer.byRegion(dataset.load()).get("West"), 1e-9);
+    }
+
+    @Test
+    void testDateColumnStillRequiredWhenThePathSpansSeveralDays() throws IOException {
+        Path west = root.resolve("region=West").resolve("month=2024-05");
+        Files.createDirectories(west);
+        Files.writeString(west.resolve("batch.csv"), "salesperson,product,quantity,unitPrice\nS9,P9,2,5.0\n");
+        SalesDataset dataset = SalesDataset.open(root);
+
+        assertThrows(IllegalArgumentException.class, dataset::load);
+    }
+
+    @Test
+    void testRowsContradictingThePathFailTheLoad() throws IOException {
+        Path north = root.resolve("region=North").resolve("month=2024-03");
+        Files.writeString(north.resolve("2024-03-09.csv"), HEADER + "2024-03-09,South,S0,P0,1,1.0\n");
+        assertThrows(IllegalArgumentException.class, SalesDataset.open(root)::load);
+
+        Files.writeString(north.resolve("2024-03-09.csv"), HEADER + "2024-03-10,North,S0,P0,1,1.0\n");
+        assertThrows(IllegalArgumentException.class, SalesDataset.open(root)::load);
+    }
+
+    @Test
+    void testBadFileFailsTheLoad() throws IOException {
+        Files.writeString(root.resolve("region=North").resolve("broken.csv"), "date,region\n2024-01-01,North\n");
+        SalesDataset dataset = SalesDataset.open(root, 2);
+        assertThrows(IllegalArgumentException.class, dataset::load);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> SalesDataset.open(root.resolve("missing")));
+        assertThrows(IllegalArgumentException.class, () -> SalesDataset.open(root, 0));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SalesFileTest {
+    private static final String[] REGIONS = {"North", "South", "East", "West"};
+    private static final double[] PRICES = {9.99, 19.99, 14.50, 4.25, 120.0};
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A year of sales in date order.
+     */
+    private static List<SalesRecord> records(int n) {
+        Random random = new Random(17);
+        List<SalesRecord> records = new ArrayList<>();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < n; i++) {
+            records.add(new SalesRecord(start.plusDays(i * 366L / n), REGIONS[random.nextInt(4)],
+                    "S" + random.nextInt(40), "P" + random.nextInt(100), 1 + random.nextInt(50),
+                    PRICES[random.nextInt(PRICES.length)]));
+        }
+        return records;
+    }
+
+    private static void assertSameRecords(List<SalesRecord> expected, List<SalesRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            SalesRecord e = expected.get(i);
+            SalesRecord a = actual.get(i);
+            assertEquals(e.getDate(), a.getDate());
+            assertEquals(e.getRegion(), a.getRegion());
+            assertEquals(e.getSalesperson(), a.getSalesperson());
+            assertEquals(e.getProduct(), a.getProduct());
+            assertEquals(e.getQuantity(), a.getQuantity());
+            assertEquals(e.getPrice(), a.getPrice());
+        }
+    }
+
+    @Test
+    void testRoundTripIsExactAndSmallerThanCsv() throws IOException {
+        List<SalesRecord> records = records(50_000);
+        Path file = tempDir.resolve("sales.scol");
+        SalesFile.write(records, file, 1000);
+
+        SalesFile sales = SalesFile.open(file);
+        assertEquals(50_000, sales.rowCount());
+        assertEquals(50, sales.blockCount());
+        assertEquals(1000, sales.blockRows());
+        assertSameRecords(records, sales.read());
+
+        long csvBytes = records.stream()
+                .mapToLong(r -> (r.getDate() + "," + r.getRegion() + "," + r.getSalesperson() + ","
+                        + r.getProduct() + "," + r.getQuantity() + "," + r.getPrice() + "\n").length())
+                .sum();
+        assertTrue(Files.size(file) * 4 < csvBytes, Files.size(file) + " vs " + csvBytes);
+    }
+
+    @Test
+    void testDateFilterSkipsBlocks() throws IOException {
+        List<SalesRecord> records = records(50_000);
+        Path file = tempDir.resolve("sales.scol");
+        SalesFile.write(records, file, 1000);
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+
+        SalesFile sales = SalesFile.open(file);
+        List<SalesRecord> march = sales.read(SalesFile.Filter.ALL.between(from, to).regions("North"));
+
+        assertSameRecords(records.stream()
+                .filter(r -> !r.getDate().isBefore(from) && !r.getDate().isAfter(to))
+                .filter(r -> r.getRegion().equals("North"))
+                .collect(Collectors.toList()), march);
+        assertTrue(sales.blocksSkipped() > 40, "skipped " + sales.blocksSkipped());
+        assertEquals(50, sales.blocksRead() + sales.blocksSkipped());
+    }
+
+    @Test
+    void testDimensionFilterSkipsBlocksOfClusteredData() throws IOException {
+        List<SalesRecord> records = records(20_000);
+        records.sort(Comparator.comparing(SalesRecord::getRegion));
+        Path file = tempDir.resolve("by-region.scol");
+        SalesFile.write(records, file, 500);
+
+        SalesFile sales = SalesFile.open(file);
+        List<SalesRecord> east = sales.read(SalesFile.Filter.ALL.regions("East").products("P3", "P4"));
+
+        assertSameRecords(records.stream()
+                .filter(r -> r.getRegion().equals("East"))
+                .filter(r -> r.getProduct().equals("P3") || r.getProduct().equals("P4"))
+                .collect(Collectors.toList()), east);
+        assertTrue(sales.blocksSkipped() >= 25, "skipped " + sales.blocksSkipped());
+    }
+
+    @Test
+    void testUnknownValueSkipsEveryBlock() throws IOException {
+        Path file = tempDir.resolve("sales.scol");
+        SalesFile.write(records(5000), file, 1000);
+        SalesFile sales = SalesFile.open(file);
+
+        assertTrue(sales.read(SalesFile.Filter.ALL.salespeople("Nobody")).isEmpty());
+        assertEquals(0, sales.blocksRead());
+        assertEquals(5, sales.blocksSkipped());
+    }
+
+    @Test
+    void testUnscalablePricesAndNegativeQuantitiesRoundTrip() throws IOException {
+        List<SalesRecord> records = List.of(
+                new SalesRecord(LocalDate.of(2024, 5, 2), "North", "Alice", "Widget", -3, Math.PI),
+                new SalesRecord(LocalDate.of(2023, 1, 1), "North", "Alice", "Widget", Integer.MAX_VALUE, -0.1),
+                new SalesRecord(LocalDate.of(2025, 12, 31), "Süd", "Bob", "Gadget", 0, 1e-7));
+        Path file = tempDir.resolve("odd.scol");
+        SalesFile.write(records, file);
+        assertSameRecords(records, SalesFile.open(file).read());
+    }
+
+    @Test
+    void testAnalyzerLoadsFilteredFileLikeCsv() throws IOException {
+        List<SalesRecord> records = records(10_000);
+        Path file = tempDir.resolve("sales.scol");
+        SalesAnalyzer.export(records, file);
+
+        List<SalesRecord> loaded = SalesAnalyzer.load(file, SalesFile.Filter.ALL);
+        assertEquals(SalesAnalyzer.byRegion(records), SalesAnalyzer.byRegion(loaded));
+        List<SalesRecord> q1 = SalesAnalyzer.load(file,
+                SalesFile.Filter.ALL.between(null, LocalDate.of(2024, 3, 31)));
+        assertEquals(3, SalesAnalyzer.monthlyTotals(q1).size());
+    }
+
+    @Test
+    void testEmptyAndInvalidFiles() throws IOException {
+        Path empty = tempDir.resolve("empty.scol");
+        SalesFile.write(List.of(), empty);
+        assertEquals(0, SalesFile.open(empty).read().size());
+
+        Path bogus = tempDir.resolve("bogus.scol");
+        Files.writeString(bogus, "date,region,salesperson,product,quantity,unitPrice\n");
+        assertThrows(IllegalArgumentException.class, () -> SalesFile.open(bogus));
+        Path tiny = tempDir.resolve("tiny.scol");
+        Files.writeString(tiny, "x");
+        assertThrows(IllegalArgumentException.class, () -> SalesFile.open(tiny));
+
+        List<SalesRecord> projected = List.of(new SalesRecord(null, null, null, null, 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> SalesFile.write(projected, tempDir.resolve("p.scol")));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SalesIndexTest {
+    private static final String[] REGIONS = {"North", "South", "East", "West"};
+
+    private static List<SalesRecord> records(int n) {
+        Random random = new Random(8);
+        List<SalesRecord> records = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            records.add(new SalesRecord(LocalDate.of(2024, 1, 1), REGIONS[random.nextInt(4)],
+                    "S" + random.nextInt(50), "P" + random.nextInt(200), 1 + random.nextInt(9), 1.25));
+        }
+        return records;
+    }
+
+    @Test
+    void testFilteredRevenueMatchesStreamFilter() {
+        List<SalesRecord> records = records(300_000);
+        SalesIndex index = SalesIndex.build(records);
+
+        RoaringBitmap rows = index.product("P7").and(index.region("North", "East"));
+        double expected = records.stream()
+                .filter(r -> r.getProduct().equals("P7"))
+                .filter(r -> r.getRegion().equals("North") || r.getRegion().equals("East"))
+                .mapToDouble(SalesRecord::total).sum();
+        assertEquals(expected, index.revenue(rows), 1e-6);
+
+        RoaringBitmap either = index.salesperson("S1").or(index.product("P1", "P2"));
+        long expectedCount = records.stream()
+                .filter(r -> r.getSalesperson().equals("S1") || Set.of("P1", "P2").contains(r.getProduct()))
+                .count();
+        assertEquals(expectedCount, either.cardinality());
+    }
+
+    @Test
+    void testRecordsComeBackInRowOrder() {
+        List<SalesRecord> records = records(1000);
+        SalesIndex index = SalesIndex.build(records);
+        List<SalesRecord> south = index.records(index.region("South"));
+        assertEquals(records.stream().filter(r -> r.getRegion().equals("South")).collect(Collectors.toList()), south);
+        assertEquals(1000, index.rowCount());
+    }
+
+    @Test
+    void testUnknownValuesAndReturnedBitmapsAreIsolated() {
+        SalesIndex index = SalesIndex.build(records(1000));
+        assertTrue(index.region("Nowhere").isEmpty());
+        assertEquals(0, index.revenue(index.product("P1").and(index.region("Nowhere"))));
+
+        long before = index.region("North").cardinality();
+        index.region("North").add(999_999);
+        assertEquals(before, index.region("North").cardinality());
+        assertTrue(index.indexSizeInBytes() > 0);
+    }
+}
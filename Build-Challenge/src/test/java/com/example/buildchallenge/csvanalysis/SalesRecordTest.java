@@ -99,6 +99,16 @@ class SalesRecordTest {
         assertEquals(TEST_PRODUCT, record.getProduct());
     }
 
+    @Test
+    void testGetQuantity() {
+        assertEquals(TEST_QUANTITY, record.getQuantity());
+    }
+
+    @Test
+    void testGetPrice() {
+        assertEquals(TEST_PRICE, record.getPrice());
+    }
+
     @Test
     void testFromCsvWithDifferentDate() {
         String csvLine = "2024-03-15,South,Bob,Gadget,5,19.99";
@@ -0,0 +1,86 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SalesSketchTest {
+    private List<SalesRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        records = List.of(
+            new SalesRecord(LocalDate.of(2024, 1, 5), "North", "Alice", "Widget", 10, 9.99),
+            new SalesRecord(LocalDate.of(2024, 1, 6), "South", "Bob", "Gadget", 5, 19.99),
+            new SalesRecord(LocalDate.of(2024, 2, 10), "North", "Alice", "Widget", 3, 9.99),
+            new SalesRecord(LocalDate.of(2024, 2, 11), "East", "Carol", "Thing", 7, 14.50),
+            new SalesRecord(LocalDate.of(2024, 3, 1), "South", "Bob", "Gadget", 2, 19.99),
+            new SalesRecord(LocalDate.of(2024, 3, 2), "North", "Dave", "Thing", 1, 14.50)
+        );
+    }
+
+    @Test
+    void testSmallInputIsExact() {
+        SalesSketch sketch = new SalesSketch();
+        sketch.addAll(records);
+
+        assertEquals(SalesAnalyzer.topNProductsByRevenue(records, 3).get(0).getKey(),
+                sketch.topProducts(3).get(0).getKey());
+        assertEquals("Bob", sketch.topSalespeople(1).get(0).getKey());
+        assertEquals(129.87, sketch.productRevenueEstimate("Widget"), 1e-9);
+        assertEquals(SalesAnalyzer.total(records), sketch.totalRevenue(), 1e-9);
+        assertEquals(Map.of("North", 2L, "South", 1L, "East", 1L), sketch.distinctSalespeopleByRegion());
+        assertEquals(Map.of("North", 2L, "South", 1L, "East", 1L), sketch.distinctProductsByRegion());
+        assertEquals(2L, sketch.distinctProductsByMonth().get(YearMonth.of(2024, 3)));
+        assertEquals(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3)),
+                List.copyOf(sketch.distinctSalespeopleByMonth().keySet()));
+    }
+
+    @Test
+    void testMergedPartitionsMatchSingleSketch() {
+        Random random = new Random(5);
+        List<SalesRecord> stream = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String product = i % 10 == 0 ? "Star" : "P" + random.nextInt(20_000);
+            stream.add(new SalesRecord(LocalDate.of(2024, 1 + i % 12, 1), "R" + i % 4,
+                    "S" + random.nextInt(3000), product, 1 + random.nextInt(5), 10.0));
+        }
+        SalesSketch whole = new SalesSketch(200, 0.001, 0.01, 12);
+        whole.addAll(stream);
+        SalesSketch left = new SalesSketch(200, 0.001, 0.01, 12);
+        SalesSketch right = new SalesSketch(200, 0.001, 0.01, 12);
+        left.addAll(stream.subList(0, 25_000));
+        right.addAll(stream.subList(25_000, 50_000));
+        left.merge(right);
+
+        assertEquals("Star", left.topProducts(1).get(0).getKey());
+        assertEquals(whole.distinctSalespeopleByRegion(), left.distinctSalespeopleByRegion());
+        assertEquals(whole.productRevenueEstimate("Star"), left.productRevenueEstimate("Star"), 1e-6);
+        long distinct = left.distinctSalespeopleByRegion().get("R0");
+        assertTrue(Math.abs(distinct - 3000) < 3000 * 0.05, "distinct " + distinct);
+    }
+
+    @Test
+    void testMergeRejectsDifferentSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesSketch().merge(new SalesSketch(10, 0.001, 0.01, 12)));
+        assertThrows(IllegalArgumentException.class, () -> new SalesSketch(10, 0.01, 0.01, 30));
+    }
+
+    @Test
+    void testSalesAnalyzerApproximations() {
+        List<Map.Entry<String, Double>> top = SalesAnalyzer.approxTopNProductsByRevenue(records, 2, 2);
+        assertEquals(2, top.size());
+        assertEquals(Map.of("North", 2L, "South", 1L, "East", 1L),
+                SalesAnalyzer.approxDistinctSalespeopleByRegion(records, 10));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SalesSummaryTest {
+    private List<SalesRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        records = List.of(
+            new SalesRecord(LocalDate.of(2024, 1, 5), "North", "Alice", "Widget", 10, 9.99),
+            new SalesRecord(LocalDate.of(2024, 1, 6), "South", "Bob", "Gadget", 5, 19.99),
+            new SalesRecord(LocalDate.of(2024, 2, 10), "North", "Alice", "Widget", 3, 9.99),
+            new SalesRecord(LocalDate.of(2024, 2, 11), "East", "Carol", "Thing", 7, 14.50),
+            new SalesRecord(LocalDate.of(2024, 3, 1), "South", "Bob", "Gadget", 2, 19.99)
+        );
+    }
+
+    @Test
+    void testTotalsMatchExactAnalyses() {
+        SalesSummary summary = SalesAnalyzer.summarize(records);
+
+        assertEquals(SalesAnalyzer.total(records), summary.overall().total(), 1e-9);
+        assertEquals(5, summary.overall().count());
+        Map<String, Double> byRegion = SalesAnalyzer.byRegion(records);
+        assertEquals(byRegion.keySet(), summary.byRegion().keySet());
+        byRegion.forEach((region, total) -> assertEquals(total, summary.byRegion().get(region).total(), 1e-9));
+        Map<YearMonth, Double> monthly = SalesAnalyzer.monthlyTotals(records);
+        assertEquals(List.copyOf(monthly.keySet()), List.copyOf(summary.byMonth().keySet()));
+    }
+
+    @Test
+    void testOrderValueQuantilesPerGroup() {
+        SalesSummary summary = SalesSummary.of(records);
+
+        GroupSummary north = summary.byRegion().get("North");
+        assertEquals(2, north.count());
+        assertEquals(29.97, north.median(), 1e-9);
+        assertEquals(99.9, north.quantile(1), 1e-9);
+        assertEquals(99.9, summary.overall().median(), 1e-9);
+        assertTrue(summary.overall().toString().contains("p99="));
+    }
+
+    @Test
+    void testMergedPartitionsStayWithinRankError() {
+        Random random = new Random(4);
+        List<SalesRecord> stream = new ArrayList<>();
+        List<Double> north = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            SalesRecord r = new SalesRecord(LocalDate.of(2024, 1 + i % 12, 1), "R" + i % 3, "S", "P",
+                    1 + random.nextInt(20), 1 + random.nextInt(100));
+            stream.add(r);
+            if (i % 3 == 1) {
+                north.add(r.total());
+            }
+        }
+        double[] exact = north.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        SalesSummary whole = SalesSummary.of(stream);
+        SalesSummary left = SalesSummary.of(stream.subList(0, 100_000));
+        left.merge(SalesSummary.of(stream.subList(100_000, 200_000)));
+
+        for (SalesSummary summary : List.of(whole, left)) {
+            GroupSummary group = summary.byRegion().get("R1");
+            assertEquals(exact.length, group.count());
+            assertEquals(north.stream().mapToDouble(Double::doubleValue).sum(), group.total(), 1e-6);
+            for (double q : new double[]{0.5, 0.9, 0.99}) {
+                double v = group.quantile(q);
+                // Order values repeat, so accept any rank the estimate occupies
+                long below = Arrays.stream(exact).filter(x -> x < v).count();
+                long atOrBelow = Arrays.stream(exact).filter(x -> x <= v).count();
+                double tolerance = 0.02 * exact.length;
+                assertTrue(below - tolerance <= q * exact.length && q * exact.length <= atOrBelow + tolerance,
+                        "q=" + q + " v=" + v);
+            }
+        }
+    }
+
+    @Test
+    void testMergeRejectsDifferentK() {
+        assertThrows(IllegalArgumentException.class, () -> new SalesSummary(100).merge(new SalesSummary(200)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTest {
+
+    @Test
+    void testExactWhileUnderCapacity() {
+        SpaceSaving summary = new SpaceSaving(10);
+        summary.add("Widget", 99.9);
+        summary.add("Gadget", 99.95);
+        summary.add("Widget", 29.97);
+
+        List<Map.Entry<String, Double>> top = summary.top(2);
+        assertEquals("Widget", top.get(0).getKey());
+        assertEquals(129.87, top.get(0).getValue(), 1e-9);
+        assertEquals("Gadget", top.get(1).getKey());
+        assertEquals(0, summary.error("Widget"));
+        assertEquals(0, summary.minCount());
+    }
+
+    @Test
+    void testHeavyHittersSurviveLongTail() {
+        SpaceSaving summary = new SpaceSaving(50);
+        Map<String, Double> exact = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            // Three heavy products among 100k one-off keys
+            String key = i % 4 == 0 ? "heavy" + (i % 3) : "tail" + random.nextInt(100_000);
+            summary.add(key, 10);
+            exact.merge(key, 10.0, Double::sum);
+        }
+        List<Map.Entry<String, Double>> top = summary.top(3);
+        for (Map.Entry<String, Double> e : top) {
+            assertTrue(e.getKey().startsWith("heavy"), e.getKey());
+            double overestimate = e.getValue() - exact.get(e.getKey());
+            assertTrue(overestimate >= 0);
+            assertTrue(overestimate <= summary.totalWeight() / summary.capacity());
+            assertTrue(overestimate <= summary.error(e.getKey()) + 1e-9);
+        }
+    }
+
+    @Test
+    void testMergeKeepsHeavyHitters() {
+        SpaceSaving a = new SpaceSaving(20);
+        SpaceSaving b = new SpaceSaving(20);
+        for (int i = 0; i < 10_000; i++) {
+            a.add(i % 5 == 0 ? "big" : "a" + i, 1);
+            b.add(i % 5 == 0 ? "big" : "b" + i, 1);
+        }
+        a.merge(b);
+        assertEquals("big", a.top(1).get(0).getKey());
+        assertTrue(a.estimate("big") >= 4000);
+        assertEquals(20_000, a.totalWeight(), 1e-9);
+    }
+
+    @Test
+    void testForErrorSizesCapacity() {
+        assertEquals(100, SpaceSaving.forError(0.01).capacity());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(0));
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(5).add("a", -1));
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(5).merge(new SpaceSaving(6)));
+    }
+}
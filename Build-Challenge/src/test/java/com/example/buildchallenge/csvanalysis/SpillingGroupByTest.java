@@ -0,0 +1,101 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillingGroupByTest {
+    @TempDir
+    Path tempDir;
+
+    private long filesInTempDir() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testWithinBudgetNeverSpills() throws IOException {
+        Map<String, Double> out = new LinkedHashMap<>();
+        try (SpillingGroupBy groupBy = new SpillingGroupBy(1 << 20, tempDir)) {
+            groupBy.add("b", 1);
+            groupBy.add("a", 2);
+            groupBy.add("b", 3);
+            groupBy.finish(out::put);
+            assertEquals(0, groupBy.spillCount());
+        }
+        assertEquals(List.of("a", "b"), List.copyOf(out.keySet()));
+        assertEquals(4, out.get("b"), 1e-9);
+    }
+
+    @Test
+    void testSpilledRunsMergeToExactTotalsInKeyOrder() throws IOException {
+        Random random = new Random(12);
+        Map<String, Double> expected = new TreeMap<>();
+        Map<String, Double> out = new LinkedHashMap<>();
+        try (SpillingGroupBy groupBy = new SpillingGroupBy(64 * 1024, tempDir)) {
+            for (int i = 0; i < 200_000; i++) {
+                String key = "key-" + random.nextInt(20_000);
+                double value = random.nextInt(1000) / 100.0;
+                groupBy.add(key, value);
+                expected.merge(key, value, Double::sum);
+            }
+            assertTrue(groupBy.spillCount() > 10, "spills: " + groupBy.spillCount());
+            assertTrue(filesInTempDir() > 10);
+            groupBy.finish(out::put);
+        }
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(out.keySet()));
+        expected.forEach((k, v) -> assertEquals(v, out.get(k), 1e-6, k));
+        assertEquals(0, filesInTempDir());
+    }
+
+    @Test
+    void testCloseWithoutFinishDeletesRuns() throws IOException {
+        try (SpillingGroupBy groupBy = new SpillingGroupBy(1024, tempDir)) {
+            for (int i = 0; i < 1000; i++) {
+                groupBy.add("k" + i, i);
+            }
+            assertTrue(filesInTempDir() > 0);
+        }
+        assertEquals(0, filesInTempDir());
+    }
+
+    @Test
+    void testRevenueBySalespersonProductDayMatchesGroupingBy() throws IOException {
+        Random random = new Random(3);
+        List<SalesRecord> records = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            records.add(new SalesRecord(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60)), "North",
+                    "S" + random.nextInt(30), "P" + random.nextInt(20), 1 + random.nextInt(5), 2.5));
+        }
+        Map<String, Double> expected = records.stream().collect(Collectors.groupingBy(
+                r -> r.getSalesperson() + "|" + r.getProduct() + "|" + r.getDate(),
+                TreeMap::new, Collectors.summingDouble(SalesRecord::total)));
+
+        Map<String, Double> out = new LinkedHashMap<>();
+        SalesAnalyzer.revenueBySalespersonProductDay(records, 256 * 1024, tempDir, out::put);
+
+        assertEquals(expected, out);
+        assertEquals(0, filesInTempDir());
+    }
+
+    @Test
+    void testInvalidBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new SpillingGroupBy(10, tempDir));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryTest {
+
+    @Test
+    void testCodesAreDenseAndStable() {
+        StringDictionary dictionary = new StringDictionary();
+        assertEquals(0, dictionary.code("North"));
+        assertEquals(1, dictionary.code("South"));
+        assertEquals(0, dictionary.code("North"));
+        assertEquals(2, dictionary.size());
+        assertEquals("South", dictionary.value(1));
+    }
+
+    @Test
+    void testByteLookupMatchesStringLookup() {
+        StringDictionary dictionary = new StringDictionary();
+        int code = dictionary.code("Süd");
+        byte[] line = "x,Süd,y".getBytes(StandardCharsets.UTF_8);
+        assertEquals(code, dictionary.code(line, 2, line.length - 2));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void testGrowsPastInitialTable() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, dictionary.code("value" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, dictionary.code("value" + i));
+            assertEquals("value" + i, dictionary.value(i));
+        }
+    }
+
+    @Test
+    void testFindDoesNotAdd() {
+        StringDictionary dictionary = new StringDictionary();
+        dictionary.code("North");
+        byte[] line = "North,West".getBytes(StandardCharsets.UTF_8);
+        assertEquals(0, dictionary.find(line, 0, 5));
+        assertEquals(-1, dictionary.find(line, 6, 10));
+        assertEquals(-1, dictionary.find("West"));
+        assertEquals(1, dictionary.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.buildchallenge.csvanalysis;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class WindowedAggregatorTest {
+
+    private static SalesRecord sale(int month, int day, String region, double amount) {
+        return new SalesRecord(LocalDate.of(2024, month, day), region, "Alice", "Widget", 1, amount);
+    }
+
+    @Test
+    void testTumblingDailyWindowsCloseOnWatermark() {
+        List<WindowedAggregator.Window> closed = new ArrayList<>();
+        WindowedAggregator agg = WindowedAggregator.tumbling(1, 0, closed::add);
+
+        agg.add(sale(1, 1, "North", 10));
+        agg.add(sale(1, 1, "South", 5));
+        assertTrue(closed.isEmpty());
+        assertEquals(1, agg.openWindows().size());
+
+        agg.add(sale(1, 2, "North", 7));
+        assertEquals(1, closed.size());
+        WindowedAggregator.Window jan1 = closed.get(0);
+        assertEquals(LocalDate.of(2024, 1, 1), jan1.start());
+        assertEquals(LocalDate.of(2024, 1, 2), jan1.end());
+        assertEquals(2, jan1.count());
+        assertEquals(15, jan1.total(), 1e-9);
+        assertEquals(Map.of("North", 10.0, "South", 5.0), jan1.byRegion());
+        assertEquals(1, agg.openWindows().size());   // Only Jan 2 is still held
+
+        agg.flush();
+        assertEquals(2, closed.size());
+        assertTrue(agg.openWindows().isEmpty());
+    }
+
+    @Test
+    void testLateRecordsWithinLatenessAreCountedAndOlderAreDropped() {
+        List<WindowedAggregator.Window> closed = new ArrayList<>();
+        WindowedAggregator agg = WindowedAggregator.tumbling(1, 2, closed::add);
+
+        agg.add(sale(1, 5, "North", 1));
+        agg.add(sale(1, 3, "North", 2));   // Watermark is Jan 3, still open
+        agg.add(sale(1, 2, "North", 4));   // Before the watermark: dropped
+        assertEquals(LocalDate.of(2024, 1, 3), agg.watermark());
+        assertEquals(1, agg.lateDropped());
+
+        agg.add(sale(1, 8, "North", 1));
+        assertEquals(List.of(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 5)),
+                closed.stream().map(WindowedAggregator.Window::start).toList());
+        assertEquals(2, closed.get(0).total(), 1e-9);
+    }
+
+    @Test
+    void testSlidingWindowsCoverEachDateSizeOverSlideTimes() {
+        List<WindowedAggregator.Window> closed = new ArrayList<>();
+        WindowedAggregator agg = WindowedAggregator.sliding(7, 1, 0, closed::add);
+        for (int day = 1; day <= 31; day++) {
+            agg.add(sale(1, day, "North", day));
+        }
+        assertTrue(agg.openWindows().size() <= 7);
+        agg.flush();
+
+        double sum = closed.stream().mapToDouble(WindowedAggregator.Window::total).sum();
+        assertEquals(7 * (31 * 32 / 2), sum, 1e-9);
+        WindowedAggregator.Window week = closed.stream()
+                .filter(w -> w.start().equals(LocalDate.of(2024, 1, 10))).findFirst().orElseThrow();
+        assertEquals(LocalDate.of(2024, 1, 17), week.end());
+        assertEquals(10 + 11 + 12 + 13 + 14 + 15 + 16, week.total(), 1e-9);
+    }
+
+    @Test
+    void testMatchesMonthlyTotalsForInOrderFeed() {
+        List<SalesRecord> records = new ArrayList<>();
+        for (LocalDate d = LocalDate.of(2024, 1, 1); d.getYear() == 2024; d = d.plusDays(1)) {
+            records.add(new SalesRecord(d, "North", "Alice", "Widget", d.getDayOfMonth(), 1.5));
+        }
+        List<WindowedAggregator.Window> closed = new ArrayList<>();
+        WindowedAggregator agg = WindowedAggregator.tumbling(1, 0, closed::add);
+        agg.addAll(records);
+        agg.flush();
+
+        Map<YearMonth, Double> monthly = SalesAnalyzer.monthlyTotals(records);
+        for (Map.Entry<YearMonth, Double> e : monthly.entrySet()) {
+            double fromWindows = closed.stream()
+                    .filter(w -> YearMonth.from(w.start()).equals(e.getKey()))
+                    .mapToDouble(WindowedAggregator.Window::total).sum();
+            assertEquals(e.getValue(), fromWindows, 1e-9);
+        }
+    }
+
+    @Test
+    void testAdvanceWatermarkClosesIdleWindows() {
+        List<WindowedAggregator.Window> closed = new ArrayList<>();
+        WindowedAggregator agg = WindowedAggregator.tumbling(7, 30, closed::add);
+        assertNull(agg.watermark());
+        agg.add(sale(1, 1, "North", 3));
+        assertTrue(closed.isEmpty());
+
+        agg.advanceWatermark(LocalDate.of(2024, 2, 1));
+        assertEquals(1, closed.size());
+        agg.advanceWatermark(LocalDate.of(2024, 1, 1));   // Moving backwards is ignored
+        assertEquals(LocalDate.of(2024, 2, 1), agg.watermark());
+    }
+
+    @Test
+    void testOpenWindowsAreSnapshots() {
+        WindowedAggregator agg = WindowedAggregator.tumbling(7, 0, w -> { });
+        agg.add(sale(1, 1, "North", 3));
+        WindowedAggregator.Window snapshot = agg.openWindows().get(0);
+        agg.add(sale(1, 1, "North", 4));
+        assertEquals(3, snapshot.total(), 1e-9);
+        assertEquals(7, agg.openWindows().get(0).total(), 1e-9);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> WindowedAggregator.tumbling(0, 0, w -> { }));
+        assertThrows(IllegalArgumentException.class, () -> WindowedAggregator.sliding(7, 8, 0, w -> { }));
+        assertThrows(IllegalArgumentException.class, () -> WindowedAggregator.tumbling(1, -1, w -> { }));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingConsumerTest {
+    private SharedBuffer<String> buffer;
+    private List<List<String>> batches;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new SharedBuffer<>(20);
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    private BatchHandler<String> recorder() {
+        return batch -> batches.add(new ArrayList<>(batch));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testFlushesAtMaxBatchSize() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            buffer.put("item" + i);
+        }
+        buffer.setDone();
+
+        Thread thread = new Thread(new BatchingConsumer<>(buffer, recorder(), 4, 1000));
+        thread.start();
+        thread.join(2000);
+
+        assertEquals(3, batches.size());
+        assertEquals(4, batches.get(0).size());
+        assertEquals(4, batches.get(1).size());
+        assertEquals(2, batches.get(2).size());
+        assertEquals("item0", batches.get(0).get(0));
+        assertEquals("item9", batches.get(2).get(1));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testFlushesPartialBatchAfterLinger() throws InterruptedException {
+        Thread thread = new Thread(new BatchingConsumer<>(buffer, recorder(), 100, 50));
+        thread.start();
+
+        buffer.put("a");
+        buffer.put("b");
+        Thread.sleep(300);
+
+        // Production is still ongoing, so only the linger timeout can have flushed
+        assertEquals(1, batches.size());
+        assertEquals(List.of("a", "b"), batches.get(0));
+
+        buffer.setDone();
+        thread.join(2000);
+        assertFalse(thread.isAlive());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testNoBatchesWhenDoneAndEmpty() throws InterruptedException {
+        buffer.setDone();
+
+        Thread thread = new Thread(new BatchingConsumer<>(buffer, recorder(), 10, 10));
+        thread.start();
+        thread.join(1000);
+
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testDeliversEveryItemWithConcurrentProducer() throws InterruptedException {
+        Thread thread = new Thread(new BatchingConsumer<>(buffer, recorder(), 8, 5));
+        thread.start();
+
+        for (int i = 0; i < 100; i++) {
+            buffer.put("item" + i);
+        }
+        buffer.setDone();
+        thread.join(2000);
+
+        List<String> all = new ArrayList<>();
+        batches.forEach(all::addAll);
+        assertEquals(100, all.size());
+        assertEquals("item0", all.get(0));
+        assertEquals("item99", all.get(99));
+        assertTrue(batches.stream().allMatch(b -> !b.isEmpty() && b.size() <= 8));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testInterruptStopsConsumer() throws InterruptedException {
+        Thread thread = new Thread(new BatchingConsumer<>(buffer, recorder(), 10, 10));
+        thread.start();
+        Thread.sleep(50);
+        thread.interrupt();
+        thread.join(1000);
+
+        assertFalse(thread.isAlive());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testInterruptDuringLingerFlushesPartialBatch() throws InterruptedException {
+        Thread thread = new Thread(new BatchingConsumer<>(buffer, recorder(), 100, 10_000));
+        thread.start();
+        buffer.put("a");
+        buffer.put("b");
+        Thread.sleep(100);   // Both taken; the consumer now lingers for more
+
+        thread.interrupt();
+        thread.join(1000);
+
+        assertFalse(thread.isAlive());
+        assertEquals(List.of(List.of("a", "b")), batches);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingConsumer<>(buffer, recorder(), 0, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingConsumer<>(buffer, recorder(), 10, -1));
+    }
+}
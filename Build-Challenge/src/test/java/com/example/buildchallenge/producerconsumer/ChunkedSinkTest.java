@@ -0,0 +1,88 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedSinkTest {
+
+    @Test
+    void testItemsStayLocalUntilChunkIsFull() {
+        List<Integer> dest = new ArrayList<>();
+        ChunkedSink<Integer> sink = new ChunkedSink<>(dest, 3);
+        sink.accept(1);
+        sink.accept(2);
+        assertTrue(dest.isEmpty());
+        sink.accept(3);
+        assertEquals(List.of(1, 2, 3), dest);
+        assertEquals(1, sink.flushCount());
+    }
+
+    @Test
+    void testFlushPublishesPartialChunk() {
+        List<Integer> dest = new ArrayList<>();
+        ChunkedSink<Integer> sink = new ChunkedSink<>(dest, 10);
+        sink.accept(1);
+        sink.accept(2);
+        sink.flush();
+        assertEquals(List.of(1, 2), dest);
+        sink.flush();   // Nothing buffered, no extra chunk
+        assertEquals(1, sink.flushCount());
+    }
+
+    @Test
+    void testChunksAreIsolatedPerThread() throws InterruptedException {
+        List<Integer> dest = new ArrayList<>();
+        ChunkedSink<Integer> sink = new ChunkedSink<>(dest, 10);
+        sink.accept(1);
+        Thread other = new Thread(() -> {
+            sink.accept(2);
+            sink.flush();
+        });
+        other.start();
+        other.join();
+        assertEquals(List.of(2), dest);
+        sink.flush();
+        assertEquals(List.of(2, 1), dest);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testManyThreadsIntoPlainList() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        List<Integer> dest = new ArrayList<>();
+        ChunkedSink<Integer> sink = new ChunkedSink<>(dest, 256);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    sink.accept(base + i);
+                }
+                sink.flush();
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread w : workers) {
+            w.join();
+        }
+        assertEquals(threads * perThread, dest.size());
+        Set<Integer> unique = new HashSet<>(dest);
+        assertEquals(threads * perThread, unique.size());
+        // One lock acquisition per chunk, not per item
+        assertTrue(sink.flushCount() <= threads * (perThread / 256 + 1));
+    }
+
+    @Test
+    void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedSink<>(new ArrayList<>(), 0));
+    }
+}
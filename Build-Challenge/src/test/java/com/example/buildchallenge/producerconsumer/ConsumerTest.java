@@ -339,6 +339,29 @@ class ConsumerTest {
         assertEquals(10, dest1.size() + dest2.size());
     }
 
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testConcurrentConsumersShareOneListThroughChunkedSink() throws InterruptedException {
+        SharedBuffer<String> shared = new SharedBuffer<>(100);
+        for (int i = 0; i < 100; i++) {
+            shared.put("item" + i);
+        }
+        shared.setDone();
+
+        List<String> dest = new ArrayList<>();
+        ChunkedSink<String> sink = new ChunkedSink<>(dest, 8);
+        Thread t1 = new Thread(new Consumer(shared, sink, 0));
+        Thread t2 = new Thread(new Consumer(shared, sink, 0));
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+
+        // Partial chunks are flushed when each consumer exits
+        assertEquals(100, dest.size());
+        assertEquals(100, dest.stream().distinct().count());
+    }
+
     @Test
     @Timeout(value = 5, unit = TimeUnit.SECONDS)
     void testWhileLoopBlocksWhenEmpty() throws InterruptedException {
@@ -0,0 +1,163 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElasticConsumerPoolTest {
+    private SharedBuffer<Integer> buffer;
+    private AtomicInteger handled;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new SharedBuffer<>(1000);
+        handled = new AtomicInteger();
+    }
+
+    private ItemHandler<Integer> slowHandler(int delayMs) {
+        return item -> {
+            Thread.sleep(delayMs);
+            handled.incrementAndGet();
+        };
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testScalesUpUnderSustainedBacklog() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            buffer.put(i);
+        }
+        ElasticConsumerPool<Integer> pool =
+                new ElasticConsumerPool<>(buffer, slowHandler(5), 1, 4, 10, 10, 200);
+        pool.start();
+        buffer.setDone();
+
+        assertTrue(pool.awaitTermination(8, TimeUnit.SECONDS));
+        assertEquals(200, handled.get());
+        assertTrue(pool.peakConsumers() > 1, "peak was " + pool.peakConsumers());
+        assertTrue(pool.peakConsumers() <= 4);
+        assertEquals(0, pool.currentConsumers());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testRetiresIdleConsumersDownToMinimum() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            buffer.put(i);
+        }
+        ElasticConsumerPool<Integer> pool =
+                new ElasticConsumerPool<>(buffer, slowHandler(5), 2, 4, 10, 10, 50);
+        pool.start();
+
+        long deadline = System.currentTimeMillis() + 8000;
+        while ((handled.get() < 200 || pool.currentConsumers() > 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(200, handled.get());
+        assertEquals(2, pool.currentConsumers());
+        assertEquals(pool.startedConsumers() - 2, pool.retiredConsumers());
+
+        buffer.setDone();
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testThrowingHandlerIsCountedAndPoolStillTerminates() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            buffer.put(i);
+        }
+        ElasticConsumerPool<Integer> pool = new ElasticConsumerPool<>(buffer, item -> {
+            if (item % 4 == 0) {
+                throw new IllegalStateException("bad item " + item);
+            }
+            handled.incrementAndGet();
+        }, 2, 4, 10, 10, 50);
+        pool.start();
+        buffer.setDone();
+
+        assertTrue(pool.awaitTermination(3, TimeUnit.SECONDS));
+        assertEquals(15, handled.get());
+        assertEquals(5, pool.failedItems());
+        assertEquals(0, pool.currentConsumers());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testItemPutWithSetDoneDuringCooldownIsStillHandled() throws InterruptedException {
+        AtomicInteger timeouts = new AtomicInteger();
+        SharedBuffer<Integer> racy = new SharedBuffer<>(10) {
+            @Override
+            public Integer poll(long timeout, TimeUnit unit) throws InterruptedException {
+                Integer item = super.poll(timeout, unit);
+                if (item == null && timeouts.getAndIncrement() == 0) {
+                    put(7);      // A producer finishes between the timed-out poll
+                    setDone();   // and the consumer's done check
+                }
+                return item;
+            }
+        };
+        ElasticConsumerPool<Integer> pool =
+                new ElasticConsumerPool<>(racy, slowHandler(0), 1, 1, 10, 10, 20);
+        pool.start();
+
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+        assertEquals(1, handled.get());
+        assertTrue(racy.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testStaysAtMinimumWithoutBacklog() throws InterruptedException {
+        ElasticConsumerPool<Integer> pool =
+                new ElasticConsumerPool<>(buffer, slowHandler(0), 1, 4, 10, 10, 50);
+        pool.start();
+        for (int i = 0; i < 5; i++) {
+            buffer.put(i);
+            Thread.sleep(20);
+        }
+        buffer.setDone();
+
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+        assertEquals(5, handled.get());
+        assertEquals(1, pool.peakConsumers());
+        assertEquals(1, pool.startedConsumers());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownNowInterruptsConsumers() throws InterruptedException {
+        ElasticConsumerPool<Integer> pool =
+                new ElasticConsumerPool<>(buffer, slowHandler(0), 2, 2, 10, 10, 1000);
+        pool.start();
+        Thread.sleep(50);
+        pool.shutdownNow();
+
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+        assertEquals(0, pool.currentConsumers());
+    }
+
+    @Test
+    void testStartTwiceFails() {
+        ElasticConsumerPool<Integer> pool =
+                new ElasticConsumerPool<>(buffer, slowHandler(0), 1, 1, 10, 10, 10);
+        pool.start();
+        assertThrows(IllegalStateException.class, pool::start);
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testRejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ElasticConsumerPool<>(buffer, slowHandler(0), 0, 2, 10, 10, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ElasticConsumerPool<>(buffer, slowHandler(0), 3, 2, 10, 10, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ElasticConsumerPool<>(buffer, slowHandler(0), 1, 2, 0, 10, 10));
+    }
+}
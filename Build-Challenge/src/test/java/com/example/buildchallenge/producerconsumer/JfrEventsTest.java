@@ -0,0 +1,163 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventsTest {
+    private static final String PREFIX = "com.example.buildchallenge.";
+
+    // One recording for the whole class: some JDK 21 builds stop emitting periodic
+    // events in recordings started after an earlier one has closed
+    private static Recording recording;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void startRecording() {
+        new SharedBuffer<String>(1);   // Loads SharedBuffer, installing the periodic hook first
+        recording = new Recording();
+        recording.enable(BufferPutBlockedEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(BufferTakeBlockedEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(BatchProcessedEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(BufferOccupancyEvent.class).withPeriod(Duration.ofMillis(50));
+        recording.start();
+    }
+
+    @AfterAll
+    static void stopRecording() {
+        recording.close();
+    }
+
+    private List<RecordedEvent> read(String name, Predicate<RecordedEvent> filter) throws Exception {
+        Path file = dir.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(PREFIX + name))
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+
+    private static Predicate<RecordedEvent> forBuffer(Object buffer) {
+        int id = System.identityHashCode(buffer);
+        return e -> e.getInt("bufferId") == id;
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testPutBlockedEventRecorded() throws Exception {
+        SharedBuffer<String> buffer = new SharedBuffer<>(1);
+        buffer.put("fill");
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.put("blocked");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        awaitBlocked(producer);
+        Thread.sleep(50);
+        buffer.take();
+        producer.join();
+
+        List<RecordedEvent> events = read("BufferPutBlocked", forBuffer(buffer));
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertTrue(event.getDuration().toMillis() >= 40);
+        assertEquals(1L, event.getLong("capacity"));
+        assertTrue(event.getBoolean("accepted"));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testTakeBlockedEventRecordedForTakeAndPoll() throws Exception {
+        SharedBuffer<String> buffer = new SharedBuffer<>(1);
+        assertNull(buffer.poll(20, TimeUnit.MILLISECONDS));
+        Thread putter = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                buffer.put("item");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        putter.start();
+        assertEquals("item", buffer.take());
+        putter.join();
+
+        List<RecordedEvent> events = read("BufferTakeBlocked", forBuffer(buffer));
+        assertEquals(2, events.size());
+        assertFalse(events.get(0).getBoolean("gotItem"));
+        assertTrue(events.get(1).getBoolean("gotItem"));
+    }
+
+    @Test
+    void testNoBlockedEventWhenNotBlocking() throws Exception {
+        SharedBuffer<String> buffer = new SharedBuffer<>(2);
+        buffer.put("a");
+        buffer.take();
+
+        assertTrue(read("BufferPutBlocked", forBuffer(buffer)).isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testBatchProcessedEventRecorded() throws Exception {
+        SharedBuffer<String> buffer = new SharedBuffer<>(10);
+        for (int i = 0; i < 5; i++) {
+            buffer.put("item" + i);
+        }
+        buffer.setDone();
+        Thread consumer = new Thread(new BatchingConsumer<>(buffer, batch -> Thread.sleep(5), 3, 100),
+                "jfr-batch-consumer");
+        consumer.start();
+        consumer.join();
+
+        List<RecordedEvent> events = read("BatchProcessed",
+                e -> "jfr-batch-consumer".equals(e.getThread().getJavaName()));
+        assertEquals(2, events.size());
+        assertEquals(3, events.get(0).getInt("batchSize"));
+        assertEquals(2, events.get(1).getInt("batchSize"));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testPeriodicOccupancyEventRecorded() throws Exception {
+        SharedBuffer<String> buffer = new SharedBuffer<String>(8).trackOccupancy();
+        SharedBuffer<String> untracked = new SharedBuffer<>(8);
+        buffer.put("a");
+        buffer.put("b");
+        untracked.put("c");
+        Thread.sleep(300);
+
+        List<RecordedEvent> events = read("BufferOccupancy", forBuffer(buffer));
+        assertFalse(events.isEmpty());
+        assertEquals(2, events.get(0).getInt("size"));
+        assertEquals(2L, events.get(0).getLong("weight"));
+        assertEquals(8L, events.get(0).getLong("capacity"));
+        assertTrue(read("BufferOccupancy", forBuffer(untracked)).isEmpty());
+    }
+}
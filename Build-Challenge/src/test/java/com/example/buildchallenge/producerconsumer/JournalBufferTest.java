@@ -0,0 +1,192 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalBufferTest {
+    private static final int SMALL_SEGMENT = 64;
+
+    @TempDir
+    Path dir;
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("segment-")).count();
+        }
+    }
+
+    @Test
+    void testPutAndTakeInOrder() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8())) {
+            assertTrue(journal.isEmpty());
+            journal.put("apple");
+            journal.put("");
+            journal.put("banana");
+            assertEquals(3, journal.size());
+
+            assertEquals("apple", journal.take());
+            assertEquals("", journal.take());
+            assertEquals("banana", journal.take());
+            assertTrue(journal.isEmpty());
+        }
+    }
+
+    @Test
+    void testSegmentsRollOverAndAreReclaimed() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 1)) {
+            for (int i = 0; i < 20; i++) {
+                journal.put("item-" + i);
+            }
+            assertTrue(segmentFiles() > 1);
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals("item-" + i, journal.take());
+            }
+            assertEquals(1, segmentFiles());
+        }
+    }
+
+    @Test
+    void testUndeletableSegmentDoesNotFailTakeAndIsReclaimedLater() throws Exception {
+        Path first = dir.resolve(String.format("segment-%016d.dat", 0));
+        Path blocker = first.resolve("blocker");
+        JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 1);
+        for (int i = 0; i < 20; i++) {
+            journal.put("item-" + i);
+        }
+        // Stand in for a file the OS will not delete yet, as Windows does while it is mapped
+        Files.delete(first);
+        Files.createDirectories(blocker);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("item-" + i, journal.take());
+        }
+        assertTrue(Files.exists(first));
+
+        Files.delete(blocker);
+        journal.close();
+        assertFalse(Files.exists(first));
+        assertEquals(1, segmentFiles());
+    }
+
+    @Test
+    void testRestartResumesFromCommittedPosition() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 4)) {
+            for (int i = 0; i < 10; i++) {
+                journal.put("item-" + i);
+            }
+            assertEquals("item-0", journal.take());
+            assertEquals("item-1", journal.take());
+            assertEquals("item-2", journal.take());
+        }
+
+        try (JournalBuffer<String> reopened = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 4)) {
+            assertEquals(7, reopened.size());
+            reopened.put("item-10");
+            List<String> rest = new ArrayList<>();
+            reopened.drainTo(rest, 100);
+            assertEquals(8, rest.size());
+            assertEquals("item-3", rest.get(0));
+            assertEquals("item-10", rest.get(7));
+        }
+    }
+
+    @Test
+    void testRecoveryAfterEveryTakeAcrossSegmentsDoesNotReplay() throws Exception {
+        JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 1);
+        for (int i = 0; i < 20; i++) {
+            journal.put("item-" + i);
+        }
+        for (int i = 0; i < 19; i++) {
+            assertEquals("item-" + i, journal.take());
+            // Recover from disk while the first journal is still open, as after a crash
+            JournalBuffer<String> recovered = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 1);
+            assertEquals(19 - i, recovered.size(), "after taking item-" + i);
+        }
+        assertEquals(Long.BYTES, Files.size(dir.resolve("commit.dat")));   // One word: segment and offset
+
+        JournalBuffer<String> recovered = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 1);
+        assertEquals("item-19", recovered.take());
+    }
+
+    @Test
+    void testReopenEmptyJournal() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8())) {
+            journal.put("only");
+            assertEquals("only", journal.take());
+        }
+        try (JournalBuffer<String> reopened = new JournalBuffer<>(dir, Codec.utf8())) {
+            assertTrue(reopened.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testTakeBlocksUntilPutAndReturnsNullWhenDone() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8())) {
+            AtomicInteger taken = new AtomicInteger();
+            Thread taker = new Thread(() -> {
+                try {
+                    while (journal.take() != null) {
+                        taken.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            taker.start();
+            Thread.sleep(100);
+            assertEquals(0, taken.get());
+
+            journal.put("a");
+            journal.put("b");
+            journal.setDone();
+            taker.join(2000);
+
+            assertFalse(taker.isAlive());
+            assertEquals(2, taken.get());
+            assertTrue(journal.isDone());
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPollTimesOut() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8())) {
+            assertNull(journal.poll(50, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testRejectsOversizedRecord() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8(), SMALL_SEGMENT, 1)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.put("x".repeat(SMALL_SEGMENT)));
+        }
+    }
+
+    @Test
+    void testWorksWithProducerAndConsumer() throws Exception {
+        try (JournalBuffer<String> journal = new JournalBuffer<>(dir, Codec.utf8())) {
+            List<String> dst = new ArrayList<>();
+            Thread p = new Thread(new Producer(journal, List.of("apple", "banana"), 0));
+            Thread c = new Thread(new Consumer(journal, dst, 0));
+            p.start();
+            c.start();
+            p.join(2000);
+            c.join(2000);
+            assertEquals(List.of("apple", "banana"), dst);
+        }
+    }
+}
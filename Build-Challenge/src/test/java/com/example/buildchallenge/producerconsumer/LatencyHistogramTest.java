@@ -0,0 +1,100 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.min());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.valueAtPercentile(99));
+        assertEquals(0.0, histogram.mean());
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000_000, 8);
+        for (int v = 1; v <= 100; v++) {
+            histogram.record(v);
+        }
+        assertEquals(100, histogram.count());
+        assertEquals(1, histogram.min());
+        assertEquals(100, histogram.max());
+        assertEquals(50, histogram.valueAtPercentile(50));
+        assertEquals(99, histogram.valueAtPercentile(99));
+        assertEquals(100, histogram.valueAtPercentile(100));
+        assertEquals(50.5, histogram.mean(), 1e-9);
+    }
+
+    @Test
+    void testRelativeErrorBoundedForLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + (long) (random.nextDouble() * 1_000_000_000L);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long estimate = histogram.valueAtPercentile(p);
+            assertTrue(estimate >= exact, "p" + p);
+            assertTrue((estimate - exact) / (double) exact < 1.0 / 128, "p" + p);
+        }
+        assertEquals(values[values.length - 1], histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void testValuesAboveRangeAreSaturated() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000, 4);
+        histogram.record(5_000);
+        assertEquals(1, histogram.saturatedCount());
+        assertEquals(1_000, histogram.max());
+    }
+
+    @Test
+    void testAddMergesCounts() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        b.record(1_000_000);
+        b.record(20);
+        a.add(b);
+        assertEquals(3, a.count());
+        assertEquals(10, a.min());
+        assertEquals(1_000_000, a.max());
+        assertEquals(20, a.valueAtPercentile(50));
+    }
+
+    @Test
+    void testAddRejectsDifferentConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LatencyHistogram().add(new LatencyHistogram(1_000, 8)));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(1_000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().record(-1));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().valueAtPercentile(101));
+    }
+
+    @Test
+    void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.valueAtPercentile(50));
+    }
+}
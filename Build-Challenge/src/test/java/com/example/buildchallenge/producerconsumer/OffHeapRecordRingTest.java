@@ -0,0 +1,155 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class OffHeapRecordRingTest {
+    // Record layout: long id, int quantity, double price
+    private static final int ID = 0;
+    private static final int QUANTITY = 8;
+    private static final int PRICE = 12;
+    private static final int RECORD_SIZE = 20;
+
+    @Test
+    void testClaimPublishAndReadInPlace() throws InterruptedException {
+        OffHeapRecordRing ring = new OffHeapRecordRing(4, RECORD_SIZE);
+        long seq = ring.claim();
+        ring.putLong(seq, ID, 42L);
+        ring.putInt(seq, QUANTITY, 7);
+        ring.putDouble(seq, PRICE, 14.5);
+        assertEquals(-1, ring.tryNext());   // Not visible until published
+        ring.publish(seq);
+
+        long read = ring.next();
+        assertEquals(seq, read);
+        assertEquals(42L, ring.getLong(read, ID));
+        assertEquals(7, ring.getInt(read, QUANTITY));
+        assertEquals(14.5, ring.getDouble(read, PRICE));
+        ring.release(read);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void testTryClaimFailsWhenFullUntilReleased() throws InterruptedException {
+        OffHeapRecordRing ring = new OffHeapRecordRing(2, RECORD_SIZE);
+        ring.publish(ring.claim());
+        ring.publish(ring.claim());
+        assertEquals(-1, ring.tryClaim());
+        assertEquals(2, ring.size());
+
+        long seq = ring.next();
+        assertEquals(-1, ring.tryClaim());   // Taken but not yet released
+        ring.release(seq);
+        assertEquals(2, ring.tryClaim());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testNextReturnsDoneWhenDrained() throws InterruptedException {
+        OffHeapRecordRing ring = new OffHeapRecordRing(4, RECORD_SIZE);
+        long seq = ring.claim();
+        ring.putLong(seq, ID, 1L);
+        ring.publish(seq);
+        ring.setDone();
+
+        long read = ring.next();
+        assertEquals(1L, ring.getLong(read, ID));
+        ring.release(read);
+        assertEquals(OffHeapRecordRing.DONE, ring.next());
+        assertTrue(ring.isDone());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testConcurrentProducersAndConsumer() throws InterruptedException {
+        OffHeapRecordRing ring = new OffHeapRecordRing(64, RECORD_SIZE);
+        int producers = 3;
+        int perProducer = 20_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) {
+                        long seq = ring.claim();
+                        ring.putLong(seq, ID, i);
+                        ring.publish(seq);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[p].start();
+        }
+        AtomicLong sum = new AtomicLong();
+        Thread consumer = new Thread(() -> {
+            try {
+                long seq;
+                while ((seq = ring.next()) != OffHeapRecordRing.DONE) {
+                    sum.addAndGet(ring.getLong(seq, ID));
+                    ring.release(seq);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (Thread t : threads) {
+            t.join();
+        }
+        ring.setDone();
+        consumer.join();
+
+        long expected = producers * (long) perProducer * (perProducer + 1) / 2;
+        assertEquals(expected, sum.get());
+    }
+
+    @Test
+    void testHandoffDoesNotAllocate() throws InterruptedException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        OffHeapRecordRing ring = new OffHeapRecordRing(16, RECORD_SIZE);
+        long checksum = cycle(ring, 100_000);   // Warm up
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        checksum += cycle(ring, 100_000);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        assertTrue(checksum > 0);
+        assertTrue(allocated < 1024, "Handoff allocated " + allocated + " bytes");
+    }
+
+    private static long cycle(OffHeapRecordRing ring, int count) throws InterruptedException {
+        long checksum = 0;
+        for (int i = 0; i < count; i++) {
+            long seq = ring.claim();
+            ring.putInt(seq, QUANTITY, i);
+            ring.publish(seq);
+            long read = ring.next();
+            checksum += ring.getInt(read, QUANTITY);
+            ring.release(read);
+        }
+        return checksum;
+    }
+
+    @Test
+    void testRejectsInvalidArgumentsAndOutOfRangeFields() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapRecordRing(3, RECORD_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapRecordRing(4, 0));
+
+        OffHeapRecordRing ring = new OffHeapRecordRing(4, RECORD_SIZE);
+        long seq = ring.claim();
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.putLong(seq, PRICE + 4, 1L));
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.getInt(seq, -1));
+        assertEquals(RECORD_SIZE, ring.recordSize());
+        assertEquals(4, ring.capacity());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PayloadPoolTest {
+
+    /** Mutable event holder used as the pooled payload. */
+    static class Event implements Recyclable {
+        long id;
+        double amount;
+        final StringBuilder product = new StringBuilder(16);
+
+        @Override
+        public void reset() {
+            id = 0;
+            amount = 0;
+            product.setLength(0);
+        }
+    }
+
+    @Test
+    void testBorrowAndReleaseResetsHolder() throws InterruptedException {
+        PayloadPool<Event> pool = new PayloadPool<>(2, Event::new, 1, 1);
+        assertEquals(2, pool.size());
+        assertEquals(2, pool.available());
+
+        Event e = pool.borrow();
+        e.id = 7;
+        e.product.append("Widget");
+        assertEquals(1, pool.available());
+
+        pool.release(e);
+        assertEquals(2, pool.available());
+        assertEquals(0, e.id);
+        assertEquals(0, e.product.length());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testBorrowBlocksWhenExhausted() throws InterruptedException {
+        PayloadPool<Event> pool = new PayloadPool<>(1, Event::new, 2, 2);
+        Event held = pool.borrow();
+        AtomicInteger borrowed = new AtomicInteger();
+        Thread borrower = new Thread(() -> {
+            try {
+                pool.borrow();
+                borrowed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        borrower.start();
+        Thread.sleep(100);
+        assertEquals(0, borrowed.get());
+
+        pool.release(held);
+        borrower.join(1000);
+        assertEquals(1, borrowed.get());
+    }
+
+    @Test
+    void testHolderCountIsFixed() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        PayloadPool<Event> pool = new PayloadPool<>(4, () -> {
+            created.incrementAndGet();
+            return new Event();
+        }, 1, 1);
+        for (int i = 0; i < 100; i++) {
+            pool.release(pool.borrow());
+        }
+        assertEquals(4, created.get());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testRecyclingConsumerReturnsEveryHolder() throws InterruptedException {
+        PayloadPool<Event> pool = new PayloadPool<>(8, Event::new, 1, 1);
+        SpscBuffer<Event> buffer = new SpscBuffer<>(8);
+        AtomicLong total = new AtomicLong();
+        Thread consumer = new Thread(new RecyclingConsumer<>(buffer, pool, e -> total.addAndGet(e.id)));
+        consumer.start();
+
+        for (int i = 1; i <= 10_000; i++) {
+            Event e = pool.borrow();
+            e.id = i;
+            buffer.put(e);
+        }
+        buffer.setDone();
+        consumer.join();
+
+        assertEquals(10_000L * 10_001 / 2, total.get());
+        assertEquals(8, pool.available());
+    }
+
+    @Test
+    void testSteadyStateLoopDoesNotAllocate() throws InterruptedException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        PayloadPool<Event> pool = new PayloadPool<>(16, Event::new, 1, 1);
+        SpscBuffer<Event> buffer = new SpscBuffer<>(16);
+        long checksum = cycle(pool, buffer, 100_000);   // Warm up
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        checksum += cycle(pool, buffer, 100_000);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        assertTrue(checksum > 0);
+        assertTrue(allocated < 1024, "Loop allocated " + allocated + " bytes");
+    }
+
+    private static long cycle(PayloadPool<Event> pool, SpscBuffer<Event> buffer, int count)
+            throws InterruptedException {
+        long checksum = 0;
+        for (int i = 0; i < count; i++) {
+            Event e = pool.borrow();
+            e.id = i;
+            e.product.append("Widget");
+            buffer.put(e);
+            Event taken = buffer.take();
+            checksum += taken.id + taken.product.length();
+            pool.release(taken);
+        }
+        return checksum;
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PayloadPool<>(0, Event::new, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PayloadPool<>(1, Event::new, 0, 1));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineTest {
+
+    private static List<Integer> range(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testSourceOnlyPipelineDeliversToSink() throws InterruptedException {
+        List<String> out = new ArrayList<>();
+        Pipeline.from(List.of("apple", "banana")).run(out::add);
+        assertEquals(List.of("apple", "banana"), out);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testSequentialStagesPreserveOrder() throws InterruptedException {
+        List<String> out = new ArrayList<>();
+        Pipeline.from(List.of("apple", "banana", "capsicum"))
+                .stage("upper", String::toUpperCase, 1, 2)
+                .stage("length", s -> s + ":" + s.length(), 1, 2)
+                .run(out::add);
+        assertEquals(List.of("APPLE:5", "BANANA:6", "CAPSICUM:8"), out);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testParallelStagesDeliverEveryItem() throws InterruptedException {
+        AtomicLong sum = new AtomicLong();
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        Pipeline.from(range(10_000))
+                .stage("square", i -> (long) i * i, 4, 16)
+                .stage("half", l -> l / 2, 3, 16)
+                .run(l -> {
+                    sum.addAndGet(l);
+                    seen.add(1);
+                });
+        long expected = 0;
+        for (long i = 0; i < 10_000; i++) {
+            expected += i * i / 2;
+        }
+        assertEquals(10_000, seen.size());
+        assertEquals(expected, sum.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testNullResultFiltersItem() throws InterruptedException {
+        List<Integer> out = Collections.synchronizedList(new ArrayList<>());
+        Pipeline.from(range(10))
+                .stage("even", i -> i % 2 == 0 ? i : null, 2, 4)
+                .run(out::add);
+        Collections.sort(out);
+        assertEquals(List.of(0, 2, 4, 6, 8), out);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testFuseSkipsBufferHop() throws InterruptedException {
+        Pipeline<String> fused = Pipeline.from(List.of("a", "b"))
+                .stage("upper", String::toUpperCase, 1, 4)
+                .fuse(s -> s + "!");
+        Pipeline<String> unfused = Pipeline.from(List.of("a", "b"))
+                .stage("upper", String::toUpperCase, 1, 4)
+                .stage("bang", s -> s + "!", 1, 4);
+        assertEquals(2, fused.stageCount());
+        assertEquals(3, unfused.stageCount());
+
+        List<String> out = new ArrayList<>();
+        fused.run(out::add);
+        assertEquals(List.of("A!", "B!"), out);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testFuseIntoSourceAndAfterFilter() throws InterruptedException {
+        List<Integer> out = new ArrayList<>();
+        Pipeline.from(range(6))
+                .fuse(i -> i % 3 == 0 ? null : i)
+                .fuse(i -> i * 10)
+                .run(out::add);
+        assertEquals(List.of(10, 20, 40, 50), out);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testStageFailureAbortsPipeline() {
+        ConcurrentHashMap<Integer, Boolean> delivered = new ConcurrentHashMap<>();
+        CompletionException e = assertThrows(CompletionException.class, () ->
+                Pipeline.from(range(1000))
+                        .stage("boom", i -> {
+                            if (i == 10) {
+                                throw new IllegalStateException("bad record " + i);
+                            }
+                            return i;
+                        }, 2, 4)
+                        .run(i -> delivered.put(i, true)));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertTrue(delivered.size() < 1000);
+    }
+
+    @Test
+    void testRejectsInvalidStage() {
+        Pipeline<Integer> p = Pipeline.from(range(1));
+        assertThrows(IllegalArgumentException.class, () -> p.stage("x", i -> i, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> p.stage("x", i -> i, 1, 0));
+    }
+}
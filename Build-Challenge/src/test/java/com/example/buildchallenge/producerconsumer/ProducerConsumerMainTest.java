@@ -258,5 +258,17 @@ class ProducerConsumerMainTest {
             fail("Main should handle multiple calls: " + e.getMessage());
         }
     }
-}
 
+    @Test
+    void testNewBufferPicksSpscForOneToOne() {
+        HandoffBuffer<String> buffer = ProducerConsumerMain.newBuffer(5, 1, 1);
+        assertTrue(buffer instanceof SpscBuffer);
+        assertEquals(5, ((SpscBuffer<String>) buffer).capacity());
+    }
+
+    @Test
+    void testNewBufferPicksSharedBufferOtherwise() {
+        assertTrue(ProducerConsumerMain.newBuffer(5, 2, 1) instanceof SharedBuffer);
+        assertTrue(ProducerConsumerMain.newBuffer(5, 1, 3) instanceof SharedBuffer);
+    }
+}
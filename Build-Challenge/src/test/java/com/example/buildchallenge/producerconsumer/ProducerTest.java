@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -303,6 +305,31 @@ class ProducerTest {
         assertTrue(true); // If we get here, no exception was thrown
     }
 
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testRejectedItemsAreReportedAsDropped() {
+        SharedBuffer<String> shedding = new SharedBuffer<>(1, OverflowPolicy.DROP_NEWEST);
+        producer = new Producer(shedding, Arrays.asList("apple", "banana", "cherry"), 0);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(out, true));
+        try {
+            producer.run();
+        } finally {
+            System.setOut(original);
+        }
+        
+        String printed = out.toString();
+        assertTrue(printed.contains("Produced: Apple"));
+        assertTrue(printed.contains("Dropped: Banana"));
+        assertTrue(printed.contains("Dropped: Cherry"));
+        assertFalse(printed.contains("Produced: Banana"));
+        assertEquals(2, producer.droppedCount());
+        assertEquals(2, shedding.droppedCount());
+        assertEquals(1, shedding.size());
+    }
+
     @Test
     @Timeout(value = 5, unit = TimeUnit.SECONDS)
     void testConcurrentProducers() throws InterruptedException {
@@ -429,5 +429,408 @@ class SharedBufferTest {
         // Should return null when done and empty
         assertEquals(0, takeResult.get());
     }
-}
 
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPollReturnsAvailableItem() throws InterruptedException {
+        buffer.put("item");
+        assertEquals("item", buffer.poll(1, TimeUnit.SECONDS));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPollTimesOutWhenEmpty() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        assertNull(buffer.poll(100, TimeUnit.MILLISECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 90);
+        assertFalse(buffer.isDone());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPollReturnsNullWhenDone() throws InterruptedException {
+        buffer.setDone();
+        assertNull(buffer.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDrainToMovesUpToMax() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.put("item" + i);
+        }
+        List<String> target = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(target, 3));
+        assertEquals(List.of("item0", "item1", "item2"), target);
+        assertEquals(2, buffer.drainTo(target, 10));
+        assertEquals(0, buffer.drainTo(target, 10));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void testDefaultPolicyIsBlock() {
+        assertEquals(OverflowPolicy.BLOCK, buffer.getPolicy());
+        assertEquals(0, buffer.droppedCount());
+        assertEquals(0, buffer.conflatedCount());
+    }
+
+    @Test
+    void testDropNewestRejectsWhenFull() throws InterruptedException {
+        SharedBuffer<String> dropping = new SharedBuffer<>(2, OverflowPolicy.DROP_NEWEST);
+        assertTrue(dropping.put("a"));
+        assertTrue(dropping.put("b"));
+        assertFalse(dropping.put("c"));
+
+        assertEquals(2, dropping.size());
+        assertEquals(1, dropping.droppedCount());
+        assertEquals("a", dropping.take());
+        assertEquals("b", dropping.take());
+    }
+
+    @Test
+    void testDropOldestEvictsHead() throws InterruptedException {
+        SharedBuffer<String> dropping = new SharedBuffer<>(2, OverflowPolicy.DROP_OLDEST);
+        dropping.put("a");
+        dropping.put("b");
+        assertTrue(dropping.put("c"));
+
+        assertEquals(2, dropping.size());
+        assertEquals(1, dropping.droppedCount());
+        assertEquals("b", dropping.take());
+        assertEquals("c", dropping.take());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testTimedOfferFailsAfterTimeout() throws InterruptedException {
+        SharedBuffer<String> timed = new SharedBuffer<>(1, 50, TimeUnit.MILLISECONDS);
+        assertEquals(OverflowPolicy.TIMED_OFFER, timed.getPolicy());
+        assertTrue(timed.put("a"));
+
+        long start = System.currentTimeMillis();
+        assertFalse(timed.put("b"));
+        assertTrue(System.currentTimeMillis() - start >= 40);
+        assertEquals(1, timed.droppedCount());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testTimedOfferSucceedsWhenSpaceFrees() throws InterruptedException {
+        SharedBuffer<String> timed = new SharedBuffer<>(1, 2, TimeUnit.SECONDS);
+        timed.put("a");
+        Thread taker = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                timed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        taker.start();
+
+        assertTrue(timed.put("b"));
+        taker.join(1000);
+        assertEquals(0, timed.droppedCount());
+    }
+
+    @Test
+    void testConflateKeepsLatestPerKeyInOriginalOrder() throws InterruptedException {
+        SharedBuffer<String> conflating = new SharedBuffer<>(3, s -> s.split("=")[0]);
+        conflating.put("a=1");
+        conflating.put("b=1");
+        conflating.put("a=2");
+
+        assertEquals(2, conflating.size());
+        assertEquals(1, conflating.conflatedCount());
+        assertEquals("a=2", conflating.take());
+        assertEquals("b=1", conflating.take());
+    }
+
+    @Test
+    void testConflateEvictsOldestForNewKeyWhenFull() throws InterruptedException {
+        SharedBuffer<String> conflating = new SharedBuffer<>(2, s -> s.split("=")[0]);
+        conflating.put("a=1");
+        conflating.put("b=1");
+        conflating.put("c=1");
+
+        assertEquals(2, conflating.size());
+        assertEquals(1, conflating.droppedCount());
+        List<String> drained = new ArrayList<>();
+        conflating.drainTo(drained, 10);
+        assertEquals(List.of("b=1", "c=1"), drained);
+    }
+
+    @Test
+    void testInvalidPolicyArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SharedBuffer<String>(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SharedBuffer<String>(2, OverflowPolicy.TIMED_OFFER));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SharedBuffer<String>(2, OverflowPolicy.CONFLATE));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SharedBuffer<String>(2, (java.util.function.Function<String, Object>) null));
+    }
+
+    @Test
+    void testWeightTracksUnitWeights() throws InterruptedException {
+        buffer.put("a");
+        buffer.put("b");
+        assertEquals(2, buffer.weight());
+        buffer.take();
+        assertEquals(1, buffer.weight());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testWeightedPutBlocksOverBudget() throws InterruptedException {
+        SharedBuffer<String> weighted = SharedBuffer.weighted(10L, String::length);
+        weighted.put("aaaa");
+        weighted.put("bbbbbb");
+        assertEquals(10, weighted.weight());
+
+        AtomicInteger putCount = new AtomicInteger(0);
+        Thread putter = new Thread(() -> {
+            try {
+                weighted.put("c");
+                putCount.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        putter.start();
+        Thread.sleep(100);
+        assertEquals(0, putCount.get());
+
+        assertEquals("aaaa", weighted.take());
+        putter.join(2000);
+        assertEquals(1, putCount.get());
+        assertEquals(7, weighted.weight());
+        assertEquals(2, weighted.size());
+    }
+
+    @Test
+    void testOversizedItemAdmittedWhenEmpty() throws InterruptedException {
+        SharedBuffer<String> weighted = SharedBuffer.weighted(3L, String::length, OverflowPolicy.DROP_NEWEST);
+        assertTrue(weighted.put("oversized"));
+        assertEquals(9, weighted.weight());
+        assertFalse(weighted.put("a"));
+        assertEquals(1, weighted.droppedCount());
+    }
+
+    @Test
+    void testWeightedDropOldestEvictsUntilItFits() throws InterruptedException {
+        SharedBuffer<String> weighted = SharedBuffer.weighted(6L, String::length, OverflowPolicy.DROP_OLDEST);
+        weighted.put("aa");
+        weighted.put("bb");
+        weighted.put("cc");
+        assertTrue(weighted.put("dddd"));
+
+        assertEquals(2, weighted.droppedCount());
+        assertEquals(6, weighted.weight());
+        assertEquals("cc", weighted.take());
+        assertEquals("dddd", weighted.take());
+        assertEquals(0, weighted.weight());
+    }
+
+    @Test
+    void testWeightRecordedAtInsertSurvivesPayloadMutation() throws InterruptedException {
+        SharedBuffer<StringBuilder> weighted = SharedBuffer.weighted(10L, StringBuilder::length);
+        StringBuilder growing = new StringBuilder("abc");
+        weighted.put(growing);
+        weighted.put(new StringBuilder("de"));
+        growing.append("xxxxxxxxxx");   // Heavier now than when it was admitted
+
+        assertSame(growing, weighted.take());
+        assertEquals(2, weighted.weight());
+        weighted.take();
+        assertEquals(0, weighted.weight());
+    }
+
+    @Test
+    void testDropOldestEvictsByWeightRecordedAtInsert() throws InterruptedException {
+        SharedBuffer<StringBuilder> weighted =
+                SharedBuffer.weighted(6L, StringBuilder::length, OverflowPolicy.DROP_OLDEST);
+        StringBuilder shrinking = new StringBuilder("aaaa");
+        weighted.put(shrinking);
+        shrinking.setLength(0);
+        assertTrue(weighted.put(new StringBuilder("bbbb")));
+
+        assertEquals(1, weighted.droppedCount());
+        assertEquals(4, weighted.weight());
+        assertEquals("bbbb", weighted.take().toString());
+        assertEquals(0, weighted.weight());
+    }
+
+    @Test
+    void testNegativeWeightRejected() {
+        SharedBuffer<String> weighted = SharedBuffer.weighted(10L, s -> -1);
+        assertThrows(IllegalArgumentException.class, () -> weighted.put("a"));
+        assertThrows(IllegalArgumentException.class, () -> SharedBuffer.<String>weighted(10L, null));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testTimedOfferTimesOutWhenFull() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(buffer.offer("item" + i, 10, TimeUnit.MILLISECONDS));
+        }
+        long start = System.nanoTime();
+        assertFalse(buffer.offer("overflow", 50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(CAPACITY, buffer.size());
+        assertEquals(0, buffer.droppedCount());   // Caller still holds the item
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testTimedOfferSucceedsWhenRoomFrees() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.put("item" + i);
+        }
+        Thread taker = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        taker.start();
+        assertTrue(buffer.offer("late", 2, TimeUnit.SECONDS));
+        taker.join();
+    }
+
+    @Test
+    void testTimedOfferFollowsDropPolicy() throws InterruptedException {
+        SharedBuffer<String> dropping = new SharedBuffer<>(1, OverflowPolicy.DROP_NEWEST);
+        assertTrue(dropping.offer("a", 1, TimeUnit.SECONDS));
+        assertFalse(dropping.offer("b", 1, TimeUnit.SECONDS));
+        assertEquals(1, dropping.droppedCount());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownRejectsNewItemsButDrainsExisting() throws InterruptedException {
+        buffer.put("a");
+        buffer.put("b");
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                while (buffer.take() != null) {
+                    // Drain
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+
+        assertTrue(buffer.shutdown(2, TimeUnit.SECONDS));
+        assertTrue(buffer.isShutdown());
+        assertTrue(buffer.isDone());
+        assertTrue(buffer.isEmpty());
+        assertFalse(buffer.put("c"));
+        assertFalse(buffer.offer("d", 10, TimeUnit.MILLISECONDS));
+        consumer.join();
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownReturnsFalseWhenNotDrainedInTime() throws InterruptedException {
+        buffer.put("a");
+        assertFalse(buffer.shutdown(20, TimeUnit.MILLISECONDS));
+        assertEquals("a", buffer.take());
+        assertNull(buffer.take());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownReleasesBlockedProducer() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.put("item" + i);
+        }
+        AtomicInteger result = new AtomicInteger(-1);
+        Thread producer = new Thread(() -> {
+            try {
+                result.set(buffer.put("blocked") ? 1 : 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(50);
+
+        assertFalse(buffer.shutdown(10, TimeUnit.MILLISECONDS));
+        producer.join();
+        assertEquals(0, result.get());
+        assertEquals(CAPACITY, buffer.size());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownInterruptsConsumersPastDeadline() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.put("item" + i);
+        }
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread slow = new Thread(() -> {
+            try {
+                while (buffer.take() != null) {
+                    consumed.incrementAndGet();
+                    Thread.sleep(200);
+                }
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        slow.start();
+
+        assertFalse(buffer.shutdown(100, TimeUnit.MILLISECONDS, List.of(slow)));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertTrue(consumed.get() < CAPACITY);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testEveryShutdownCallerSeesTheDrain() throws InterruptedException {
+        buffer.put("last");
+        AtomicInteger drainedInTime = new AtomicInteger();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    if (buffer.shutdown(2, TimeUnit.SECONDS)) {
+                        drainedInTime.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        Thread.sleep(100);   // Let both callers block on the drain
+
+        assertEquals("last", buffer.take());   // One take empties the buffer
+        for (Thread caller : callers) {
+            caller.join(1000);   // Well before the 2s drain timeout
+            assertFalse(caller.isAlive());
+        }
+        assertEquals(2, drainedInTime.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownWithConsumersFinishingInTime() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.put("item" + i);
+        }
+        List<String> dest = new ArrayList<>();
+        Thread consumer = new Thread(new Consumer(buffer, dest, 0));
+        consumer.start();
+
+        assertTrue(buffer.shutdown(2, TimeUnit.SECONDS, List.of(consumer)));
+        assertEquals(CAPACITY, dest.size());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedMemoryRingBufferTest {
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = SharedMemoryRingBuffer.defaultPath("ring-test-" + System.nanoTime());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Entry point for the child JVM in {@link #testHandoffBetweenProcesses()}.
+     */
+    public static class ChildProducer {
+        public static void main(String[] args) throws Exception {
+            try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.open(Path.of(args[0]), Codec.utf8())) {
+                int count = Integer.parseInt(args[1]);
+                for (int i = 0; i < count; i++) {
+                    ring.put("item-" + i);
+                }
+                ring.setDone();
+            }
+        }
+    }
+
+    @Test
+    void testOfferAndTakeInOrder() throws Exception {
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 4, 32, Codec.utf8())) {
+            assertTrue(ring.isEmpty());
+            assertTrue(ring.offer("a"));
+            assertTrue(ring.offer("b"));
+            assertEquals(2, ring.size());
+            assertEquals("a", ring.take());
+            assertEquals("b", ring.take());
+            assertTrue(ring.isEmpty());
+        }
+    }
+
+    @Test
+    void testOfferFailsWhenFullAndSlotsAreReused() throws Exception {
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 2, 8, Codec.utf8())) {
+            assertTrue(ring.offer("1"));
+            assertTrue(ring.offer("2"));
+            assertFalse(ring.offer("3"));
+            assertEquals(2, ring.size());
+
+            for (int lap = 0; lap < 5; lap++) {
+                assertNotNull(ring.take());
+                assertTrue(ring.offer("lap" + lap));
+            }
+        }
+    }
+
+    @Test
+    void testTwoMappingsShareState() throws Exception {
+        try (SharedMemoryRingBuffer<String> producer = SharedMemoryRingBuffer.create(file, 8, 16, Codec.utf8());
+             SharedMemoryRingBuffer<String> consumer = SharedMemoryRingBuffer.open(file, Codec.utf8())) {
+            producer.put("hello");
+            producer.setDone();
+            assertEquals(8, consumer.capacity());
+            assertEquals("hello", consumer.take());
+            assertTrue(consumer.isDone());
+            assertNull(consumer.take());
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testMultipleProducersDeliverEveryItemOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 64, 32, Codec.utf8())) {
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int id = p;
+                Thread t = new Thread(() -> {
+                    try (SharedMemoryRingBuffer<String> mine = SharedMemoryRingBuffer.open(file, Codec.utf8())) {
+                        for (int i = 0; i < perProducer; i++) {
+                            mine.put(id + ":" + i);
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                threads.add(t);
+                t.start();
+            }
+            Set<String> seen = new HashSet<>();
+            while (seen.size() < producers * perProducer) {
+                assertTrue(seen.add(ring.take()));
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            assertTrue(ring.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPollTimesOutAndTakeReturnsNullWhenDone() throws Exception {
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 4, 8, Codec.utf8())) {
+            assertNull(ring.poll(20, TimeUnit.MILLISECONDS));
+            ring.setDone();
+            assertNull(ring.take());
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testInterruptedWhileWaiting() throws Exception {
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 4, 8, Codec.utf8())) {
+            List<Throwable> caught = new ArrayList<>();
+            Thread taker = new Thread(() -> {
+                try {
+                    ring.take();
+                } catch (InterruptedException e) {
+                    caught.add(e);
+                }
+            });
+            taker.start();
+            Thread.sleep(50);
+            taker.interrupt();
+            taker.join(1000);
+            assertEquals(1, caught.size());
+        }
+    }
+
+    @Test
+    void testRejectsInvalidGeometryAndOversizedItems() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> SharedMemoryRingBuffer.create(file, 3, 8, Codec.utf8()));
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 2, 4, Codec.utf8())) {
+            assertThrows(IllegalArgumentException.class, () -> ring.offer("x".repeat(64)));
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testHandoffBetweenProcesses() throws Exception {
+        int count = 1_000;
+        try (SharedMemoryRingBuffer<String> ring = SharedMemoryRingBuffer.create(file, 16, 32, Codec.utf8())) {
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    ChildProducer.class.getName(), file.toString(), String.valueOf(count))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+
+            List<String> received = new ArrayList<>();
+            String item;
+            while ((item = ring.take()) != null) {
+                received.add(item);
+            }
+
+            assertEquals(0, child.waitFor());
+            assertEquals(count, received.size());
+            assertEquals("item-0", received.get(0));
+            assertEquals("item-" + (count - 1), received.get(count - 1));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscBufferTest {
+    private SpscBuffer<String> buffer;
+    private static final int CAPACITY = 5;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new SpscBuffer<>(CAPACITY);
+    }
+
+    @Test
+    void testConstructor() {
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.size());
+        assertEquals(CAPACITY, buffer.capacity());
+        assertFalse(buffer.isDone());
+    }
+
+    @Test
+    void testOfferRespectsExactCapacity() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(buffer.offer("item" + i));
+        }
+        // Backing array is rounded up to 8 slots, but capacity stays 5
+        assertFalse(buffer.offer("overflow"));
+        assertEquals(CAPACITY, buffer.size());
+    }
+
+    @Test
+    void testFifoAcrossWrapAround() throws InterruptedException {
+        for (int i = 0; i < 23; i++) {
+            buffer.put("item" + i);
+            assertEquals("item" + i, buffer.take());
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPutBlocksWhenFull() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.put("item" + i);
+        }
+        AtomicInteger putCount = new AtomicInteger();
+        Thread putter = new Thread(() -> {
+            try {
+                buffer.put("blocked-item");
+                putCount.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        putter.start();
+        Thread.sleep(100);
+        assertEquals(0, putCount.get());
+
+        assertEquals("item0", buffer.take());
+        putter.join(2000);
+        assertEquals(1, putCount.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testTakeReturnsNullWhenDoneAndEmpty() throws InterruptedException {
+        buffer.put("last");
+        buffer.setDone();
+        assertEquals("last", buffer.take());
+        assertNull(buffer.take());
+        assertNull(buffer.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPollTimesOut() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        assertNull(buffer.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 40);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testInterruptedWhileWaiting() throws InterruptedException {
+        AtomicInteger caught = new AtomicInteger();
+        Thread taker = new Thread(() -> {
+            try {
+                buffer.take();
+            } catch (InterruptedException e) {
+                caught.incrementAndGet();
+            }
+        });
+        taker.start();
+        Thread.sleep(50);
+        taker.interrupt();
+        taker.join(1000);
+        assertEquals(1, caught.get());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testProducerConsumerThreadsPreserveOrder() throws InterruptedException {
+        int count = 100_000;
+        SpscBuffer<Integer> ints = new SpscBuffer<>(64);
+        List<Integer> received = new ArrayList<>(count);
+        Thread consumer = new Thread(() -> {
+            try {
+                Integer item;
+                while ((item = ints.take()) != null) {
+                    received.add(item);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (int i = 0; i < count; i++) {
+            ints.put(i);
+        }
+        ints.setDone();
+        consumer.join();
+
+        assertEquals(count, received.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpscBuffer<String>(0));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testBenchmarkRunDeliversAllItems() throws InterruptedException {
+        assertTrue(SpscBenchmark.run(new SpscBuffer<>(16), 10_000) > 0);
+        assertTrue(SpscBenchmark.run(new SharedBuffer<>(16), 10_000) > 0);
+    }
+}
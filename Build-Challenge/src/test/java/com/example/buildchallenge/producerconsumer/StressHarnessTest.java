@@ -0,0 +1,60 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StressHarnessTest {
+    private static final long DURATION = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @TempDir
+    Path scratch;
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testEveryBufferTypeDeliversAllSentItems() throws Exception {
+        for (String type : new String[]{"shared", "spsc", "journal", "shm"}) {
+            HandoffBuffer<byte[]> buffer = StressHarness.newBuffer(type, 64, 1, 1, 32, scratch);
+            StressHarness.Result result = StressHarness.run(buffer, 1, 1, 2_000, 32, DURATION);
+            if (buffer instanceof AutoCloseable) {
+                ((AutoCloseable) buffer).close();
+            }
+            assertTrue(result.sent > 0, type);
+            assertEquals(result.sent, result.received(), type);
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testPacedRunSendsAboutTheRequestedRate() throws Exception {
+        StressHarness.Result result = StressHarness.run(new SharedBuffer<>(64), 2, 2, 1_000, 16, DURATION);
+        // 2 producers * 1000/s * 0.2s = 400 scheduled sends
+        assertEquals(400, result.sent, 2);
+        assertEquals(result.sent, result.received());
+        assertTrue(result.latency.valueAtPercentile(50) > 0);
+        assertTrue(result.toString().contains("p99.9="));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testUnthrottledRun() throws Exception {
+        StressHarness.Result result = StressHarness.run(new SharedBuffer<>(64), 2, 1, 0, 8, DURATION);
+        assertTrue(result.sent > 400);
+        assertEquals(result.sent, result.received());
+    }
+
+    @Test
+    void testInvalidConfigurations() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StressHarness.newBuffer("spsc", 64, 2, 1, 8, scratch));
+        assertThrows(IllegalArgumentException.class,
+                () -> StressHarness.newBuffer("unknown", 64, 1, 1, 8, scratch));
+        assertThrows(IllegalArgumentException.class,
+                () -> StressHarness.run(new SharedBuffer<>(4), 0, 1, 0, 8, DURATION));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.buildchallenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ThreadModeTest {
+
+    @Test
+    void testFromArgsDefaultsToPlatform() {
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromArgs(new String[]{}));
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromArgs(null));
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromArgs(new String[]{"arg1"}));
+    }
+
+    @Test
+    void testFromArgsVirtual() {
+        assertEquals(ThreadMode.VIRTUAL, ThreadMode.fromArgs(new String[]{"--virtual"}));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPlatformExecutorRunsTasks() throws Exception {
+        ExecutorService executor = ThreadMode.PLATFORM.newExecutor();
+        try {
+            Future<String> result = executor.submit(() -> "done");
+            assertEquals("done", result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testVirtualExecutorWhenSupported() throws Exception {
+        ExecutorService executor;
+        try {
+            executor = ThreadMode.VIRTUAL.newExecutor();
+        } catch (IllegalStateException e) {
+            // Built without -Pjava21 or running on an older JDK
+            assumeTrue(false, e.getMessage());
+            return;
+        }
+        try {
+            Future<Boolean> virtual = executor.submit(() ->
+                    (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+            assertTrue(virtual.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testBenchmarkRoundDeliversAllItems() throws Exception {
+        long nanos = ThreadModeBenchmark.run(ThreadMode.PLATFORM, 50, 5, 1, 2);
+        assertTrue(nanos > 0);
+    }
+}